@@ -0,0 +1,17 @@
+package io.github.mm.flyway.infrastructure.config;
+
+import io.github.mm.flyway.infrastructure.datasource.ReadReplicaPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class DataSourceConfig {
+
+    @Bean
+    public static ReadReplicaPostProcessor readReplicaPostProcessor(
+            ObjectProvider<ReplicaProperties> properties, ObjectProvider<MeterRegistry> registry) {
+        return new ReadReplicaPostProcessor(properties, registry);
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.mm.flyway.infrastructure.config;
 
+import io.github.mm.flyway.infrastructure.flyway.FlywayMigrationCallback;
 import org.flywaydb.core.Flyway;
 import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
 import org.springframework.context.annotation.Bean;
@@ -11,8 +12,13 @@ public class FlywayConfig {
 
     @Bean
     @Profile("!prod")
-    public FlywayMigrationStrategy migrateStrategy() {
-        return Flyway::migrate;
+    public FlywayMigrationStrategy migrateStrategy(FlywayMigrationCallback callback) {
+        return flyway -> {
+            // Flyway itself starts an empty schema from the latest baseline (B7); this only spares the callback
+            // from sampling lock waits that cannot happen
+            callback.freshSchema(flyway.info().applied().length == 0);
+            flyway.migrate();
+        };
     }
 
     @Bean
@@ -0,0 +1,7 @@
+package io.github.mm.flyway.infrastructure.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "mm.flyway")
+public record MigrationProperties(Duration lockTimeout, int backfillBatchSize, Duration lockWaitSampleInterval) {}
@@ -27,6 +27,7 @@ public class OpenApiConfig {
                                 - `page`: Page number (0-indexed, default: 0)
                                 - `size`: Number of items per page (default: 20, max: 100)
                                 - `sort`: Sort criteria in format `property,direction` (e.g., `name,asc`)
+                                - `count`: Total count strategy `EXACT`, `ESTIMATED` or `CACHED` (default: `EXACT`)
 
                                 Example: `/api/products?page=0&size=20&sort=name,asc`
                                 """)
@@ -0,0 +1,7 @@
+package io.github.mm.flyway.infrastructure.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "mm.threads.pinning")
+public record PinningProperties(Duration threshold, int stackDepth, int recentEvents) {}
@@ -0,0 +1,14 @@
+package io.github.mm.flyway.infrastructure.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "mm.datasource.pool-sizing")
+public record PoolSizingProperties(
+        Mode mode, Duration sampleInterval, Duration adjustInterval, double headroom, int minSize, int maxSize) {
+
+    public enum Mode {
+        RECOMMEND,
+        APPLY
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.mm.flyway.infrastructure.config;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "mm.datasource")
+public record ReplicaProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("5s") Duration maxLag,
+        @DefaultValue("1s") Duration lagCheckInterval) {
+
+    public record Replica(String url, String username, String password) {}
+}
@@ -0,0 +1,215 @@
+package io.github.mm.flyway.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.mm.flyway.infrastructure.config.PoolSizingProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Samples every Hikari pool (primary and replicas) and sizes it from observed demand:
+// the p95 of connections in use plus threads waiting, or Little's law (throughput * mean hold time), if higher
+@Component
+public class PoolSizeAdvisor {
+
+    private static final Logger log = LoggerFactory.getLogger(PoolSizeAdvisor.class);
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final DataSource dataSource;
+    private final ObjectProvider<ReadReplicaPostProcessor> replicas;
+    private final PoolSizingProperties properties;
+    private final MeterRegistry registry;
+    private final Map<String, PoolSampler> samplers = new ConcurrentHashMap<>();
+
+    public PoolSizeAdvisor(
+            DataSource dataSource,
+            ObjectProvider<ReadReplicaPostProcessor> replicas,
+            PoolSizingProperties properties,
+            MeterRegistry registry) {
+        this.dataSource = dataSource;
+        this.replicas = replicas;
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Scheduled(fixedRateString = "${mm.datasource.pool-sizing.sample-interval}")
+    public void sample() {
+        pools().forEach(pool -> sampler(pool).sample());
+    }
+
+    @Scheduled(
+            fixedRateString = "${mm.datasource.pool-sizing.adjust-interval}",
+            initialDelayString = "${mm.datasource.pool-sizing.adjust-interval}")
+    public void adjust() {
+        for (var pool : pools()) {
+            var sampler = sampler(pool);
+            var sizing = sampler.sizing();
+            sampler.resetWindow();
+            if (properties.mode() == PoolSizingProperties.Mode.APPLY && sizing != null) {
+                resize(pool, sizing.recommendedSize());
+            }
+        }
+    }
+
+    public List<PoolSizing> report() {
+        return pools().stream()
+                .map(pool -> sampler(pool).sizing())
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // grow at once to relieve waiting threads; shrink one connection per interval, so a lull does not starve a burst
+    private void resize(HikariDataSource pool, int target) {
+        var config = pool.getHikariConfigMXBean();
+        var current = config.getMaximumPoolSize();
+        var next = target > current ? target : Math.max(target, current - 1);
+        if (next == current) {
+            return;
+        }
+        if (config.getMinimumIdle() > next) {
+            config.setMinimumIdle(next);
+        }
+        config.setMaximumPoolSize(next);
+        log.info(
+                "Resized pool {} from {} to {} connections (recommended {})",
+                pool.getPoolName(),
+                current,
+                next,
+                target);
+    }
+
+    private List<HikariDataSource> pools() {
+        var pools = new ArrayList<HikariDataSource>();
+        try {
+            pools.add(dataSource.unwrap(HikariDataSource.class));
+        } catch (SQLException e) {
+            // not a Hikari pool, nothing to size
+        }
+        replicas.ifAvailable(postProcessor -> pools.addAll(postProcessor.replicaPools()));
+        return pools;
+    }
+
+    private PoolSampler sampler(HikariDataSource pool) {
+        return samplers.computeIfAbsent(pool.getPoolName(), name -> new PoolSampler(pool));
+    }
+
+    // One window per pool, closed by adjust(): the published percentiles, the sampled p95 and the Little's law mean
+    // all cover the same samples, so /actuator/poolsizing and the metrics never disagree
+    private final class PoolSampler {
+
+        private final HikariDataSource pool;
+        private final DistributionSummary inUse;
+        private final DistributionSummary waiting;
+        private final List<Integer> inUseWindow = new ArrayList<>();
+        private final List<Integer> waitingWindow = new ArrayList<>();
+        private long windowStartNanos = System.nanoTime();
+        private double windowStartUsageMillis;
+
+        private PoolSampler(HikariDataSource pool) {
+            this.pool = pool;
+            this.inUse =
+                    summary("hikaricp.connections.in.use", "Connections in use, sampled periodically", inUseWindow);
+            this.waiting = summary(
+                    "hikaricp.connections.waiting",
+                    "Threads waiting for a connection, sampled periodically",
+                    waitingWindow);
+            this.windowStartUsageMillis = usageMillis();
+        }
+
+        // the summary keeps count, total and max; the percentiles are gauges over the window, published under the
+        // names Micrometer uses for its own (<name>.percentile, tagged phi), so existing dashboards still apply
+        private DistributionSummary summary(String name, String description, List<Integer> window) {
+            for (var percentile : PERCENTILES) {
+                Gauge.builder(name + ".percentile", this, sampler -> sampler.percentile(window, percentile))
+                        .tag("pool", pool.getPoolName())
+                        .tag("phi", String.valueOf(percentile))
+                        .register(registry);
+            }
+            return DistributionSummary.builder(name)
+                    .description(description)
+                    .tag("pool", pool.getPoolName())
+                    .register(registry);
+        }
+
+        private synchronized void sample() {
+            var bean = pool.getHikariPoolMXBean();
+            if (bean == null) {
+                return; // the pool starts on the first getConnection()
+            }
+            var active = bean.getActiveConnections();
+            var awaiting = bean.getThreadsAwaitingConnection();
+            inUse.record(active);
+            waiting.record(awaiting);
+            inUseWindow.add(active);
+            waitingWindow.add(awaiting);
+        }
+
+        private synchronized void resetWindow() {
+            inUseWindow.clear();
+            waitingWindow.clear();
+            windowStartNanos = System.nanoTime();
+            windowStartUsageMillis = usageMillis();
+        }
+
+        private synchronized PoolSizing sizing() {
+            var bean = pool.getHikariPoolMXBean();
+            if (bean == null) {
+                return null;
+            }
+            var waitingP95 = percentile(waitingWindow, 0.95);
+            var demand = percentile(inUseWindow, 0.95) + waitingP95;
+            // connection-milliseconds held per elapsed millisecond is the mean number of connections in use
+            var elapsedMillis = (System.nanoTime() - windowStartNanos) / 1_000_000.0;
+            var meanConcurrency = elapsedMillis > 0 ? (usageMillis() - windowStartUsageMillis) / elapsedMillis : 0;
+            var recommended = (int) Math.ceil(Math.max(demand, meanConcurrency) * (1 + properties.headroom()));
+            var acquire = timer("hikaricp.connections.acquire");
+            return new PoolSizing(
+                    pool.getPoolName(),
+                    properties.mode(),
+                    pool.getHikariConfigMXBean().getMaximumPoolSize(),
+                    bean.getActiveConnections(),
+                    bean.getIdleConnections(),
+                    bean.getThreadsAwaitingConnection(),
+                    percentile(inUseWindow, 0.5),
+                    percentile(inUseWindow, 0.95),
+                    percentile(inUseWindow, 0.99),
+                    waitingP95,
+                    meanConcurrency,
+                    acquire != null ? acquire.mean(TimeUnit.MILLISECONDS) : 0,
+                    acquire != null ? acquire.max(TimeUnit.MILLISECONDS) : 0,
+                    Math.clamp(recommended, properties.minSize(), properties.maxSize()));
+        }
+
+        // nearest rank; the samples are small integers, at most one per sample-interval since the last adjust()
+        private synchronized double percentile(List<Integer> window, double percentile) {
+            if (window.isEmpty()) {
+                return 0;
+            }
+            var sorted = window.stream().mapToInt(Integer::intValue).sorted().toArray();
+            return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+        }
+
+        // Hikari records the time each connection was held in hikaricp.connections.usage
+        private double usageMillis() {
+            var usage = timer("hikaricp.connections.usage");
+            return usage != null ? usage.totalTime(TimeUnit.MILLISECONDS) : 0;
+        }
+
+        private Timer timer(String name) {
+            return registry.find(name).tag("pool", pool.getPoolName()).timer();
+        }
+    }
+}
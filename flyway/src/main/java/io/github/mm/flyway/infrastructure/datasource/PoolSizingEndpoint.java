@@ -0,0 +1,22 @@
+package io.github.mm.flyway.infrastructure.datasource;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "poolsizing")
+public class PoolSizingEndpoint {
+
+    private final PoolSizeAdvisor advisor;
+
+    public PoolSizingEndpoint(PoolSizeAdvisor advisor) {
+        this.advisor = advisor;
+    }
+
+    @ReadOperation
+    public List<PoolSizing> pools() {
+        return advisor.report();
+    }
+}
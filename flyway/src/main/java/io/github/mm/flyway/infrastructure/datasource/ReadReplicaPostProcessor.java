@@ -0,0 +1,78 @@
+package io.github.mm.flyway.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.github.mm.flyway.infrastructure.config.ReplicaProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+// Wraps the auto-configured pool, so connection details, Hikari settings and service connections keep working.
+// The lazy proxy only fetches a connection on first use, after the transaction manager marked it read-only.
+public class ReadReplicaPostProcessor implements BeanPostProcessor, DisposableBean {
+
+    private final ObjectProvider<ReplicaProperties> properties;
+    private final ObjectProvider<MeterRegistry> registry;
+    private ReplicaRoutingDataSource replicas;
+
+    public ReadReplicaPostProcessor(
+            ObjectProvider<ReplicaProperties> properties, ObjectProvider<MeterRegistry> registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource primary)) {
+            return bean;
+        }
+        var config = properties.getObject();
+        if (config.replicas().isEmpty()) {
+            return bean;
+        }
+        var pools = IntStream.range(0, config.replicas().size())
+                .mapToObj(i -> replicaPool(primary, config.replicas().get(i), "replica-" + i))
+                .toList();
+        replicas = new ReplicaRoutingDataSource(primary, pools, config.maxLag(), config.lagCheckInterval());
+
+        var proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(replicas);
+        return proxy;
+    }
+
+    // same pool sizing as the primary, own hikaricp.connections.* meters tagged with the replica pool name
+    private HikariDataSource replicaPool(HikariDataSource primary, ReplicaProperties.Replica replica, String name) {
+        var config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(replica.url());
+        config.setUsername(replica.username() != null ? replica.username() : primary.getUsername());
+        config.setPassword(replica.password() != null ? replica.password() : primary.getPassword());
+        config.setDriverClassName(primary.getDriverClassName());
+        config.setSchema(primary.getSchema());
+        config.setMaximumPoolSize(primary.getMaximumPoolSize());
+        config.setMinimumIdle(primary.getMinimumIdle());
+        config.setConnectionTimeout(primary.getConnectionTimeout());
+        config.setValidationTimeout(primary.getValidationTimeout());
+        config.setReadOnly(true);
+        config.setInitializationFailTimeout(-1); // a missing replica must not stop the application
+        registry.ifAvailable(meterRegistry ->
+                config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry)));
+        return new HikariDataSource(config);
+    }
+
+    public List<HikariDataSource> replicaPools() {
+        return replicas != null ? replicas.pools() : List.of();
+    }
+
+    @Override
+    public void destroy() {
+        if (replicas != null) {
+            replicas.close();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.mm.flyway.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+// Target of read-only connections: round-robin over replicas whose replay lag is within bounds, primary otherwise
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String PRIMARY = "primary";
+
+    // a caught-up replica reports its last replay time, which grows on an idle primary, so compare LSNs first
+    private static final String LAG_SQL = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE (extract(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint
+                       END""";
+
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService lagChecker;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary, List<HikariDataSource> replicas, Duration maxLag, Duration lagCheckInterval) {
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLag = maxLag;
+        var targets = new HashMap<Object, Object>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.getPoolName(), replica));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        checkLag(); // replicas take reads from the first request on, not after the first scheduled check
+        lagChecker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-lag-check").daemon().factory());
+        var interval = lagCheckInterval.toMillis();
+        lagChecker.scheduleWithFixedDelay(this::checkLag, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        var available = replicas.stream().filter(replica -> replica.available).toList();
+        if (available.isEmpty()) {
+            return PRIMARY; // a busier primary beats stale reads
+        }
+        return available.get(Math.floorMod(next.getAndIncrement(), available.size())).name;
+    }
+
+    void checkLag() {
+        for (var replica : replicas) {
+            try (var connection = replica.dataSource.getConnection();
+                    var statement = connection.createStatement();
+                    var rs = statement.executeQuery(LAG_SQL)) {
+                rs.next();
+                replica.update(Duration.ofMillis(rs.getLong(1)), maxLag);
+            } catch (SQLException e) {
+                if (replica.available) {
+                    log.warn("Replica {} is unreachable, routing its reads to the primary", replica.name, e);
+                }
+                replica.available = false;
+            }
+        }
+    }
+
+    public List<HikariDataSource> pools() {
+        return replicas.stream().map(replica -> replica.dataSource).toList();
+    }
+
+    @Override
+    public void close() {
+        lagChecker.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean available;
+
+        private Replica(HikariDataSource dataSource) {
+            this.name = dataSource.getPoolName();
+            this.dataSource = dataSource;
+        }
+
+        private void update(Duration lag, Duration maxLag) {
+            var withinBounds = lag.compareTo(maxLag) <= 0;
+            if (withinBounds != available) {
+                log.info(
+                        "Replica {} lag is {} ms, reads {}",
+                        name,
+                        lag.toMillis(),
+                        withinBounds ? "resumed" : "paused");
+            }
+            available = withinBounds;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.mm.flyway.infrastructure.exception;
+
+public class PreconditionRequiredException extends RuntimeException {
+
+    public PreconditionRequiredException(String message) {
+        super(message);
+    }
+}
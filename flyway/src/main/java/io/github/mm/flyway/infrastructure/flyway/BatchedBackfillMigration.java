@@ -0,0 +1,54 @@
+package io.github.mm.flyway.infrastructure.flyway;
+
+import java.sql.SQLException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Runs outside a migration transaction and walks the primary key in fixed ranges; with auto-commit on, every range
+// is its own short transaction, so row locks are held for one batch only and a restart resumes where it stopped
+public abstract class BatchedBackfillMigration extends BaseJavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchedBackfillMigration.class);
+
+    private final int batchSize;
+
+    protected BatchedBackfillMigration(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    protected abstract String table();
+
+    protected abstract String setClause();
+
+    // must be false once a row is backfilled, so re-running a partially applied migration is a no-op for done rows
+    protected abstract String pendingPredicate();
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        var connection = context.getConnection();
+        long maxId;
+        try (var statement = connection.createStatement();
+                var rs = statement.executeQuery("SELECT coalesce(max(id), 0) FROM " + table())) {
+            rs.next();
+            maxId = rs.getLong(1);
+        }
+        var sql = "UPDATE %s SET %s WHERE id > ? AND id <= ? AND (%s)"
+                .formatted(table(), setClause(), pendingPredicate());
+        var total = 0L;
+        try (var statement = connection.prepareStatement(sql)) {
+            for (long from = 0; from < maxId; from += batchSize) {
+                statement.setLong(1, from);
+                statement.setLong(2, from + batchSize);
+                total += statement.executeUpdate();
+            }
+        }
+        log.info("Backfilled {} rows of {} in batches of {}", total, table(), batchSize);
+    }
+}
@@ -1,10 +1,19 @@
 package io.github.mm.flyway.infrastructure.flyway;
 
+import io.github.mm.flyway.infrastructure.config.MigrationProperties;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import javax.sql.DataSource;
+import org.flywaydb.core.api.CoreMigrationType;
+import org.flywaydb.core.api.FlywayException;
 import org.flywaydb.core.api.callback.Callback;
 import org.flywaydb.core.api.callback.Context;
 import org.flywaydb.core.api.callback.Event;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -12,10 +21,50 @@ public class FlywayMigrationCallback implements Callback {
 
     private static final Logger log = LoggerFactory.getLogger(FlywayMigrationCallback.class);
 
+    // tuples written by the current transaction; non-transactional scripts commit per statement and report 0
+    private static final String ROWS_WRITTEN_SQL = """
+            SELECT coalesce(sum(n_tup_ins + n_tup_upd + n_tup_del), 0)
+            FROM pg_stat_xact_user_tables""";
+
+    // a failed CREATE INDEX CONCURRENTLY leaves its index behind, marked invalid
+    private static final String INVALID_INDEXES_SQL = """
+            SELECT format('%I.%I', n.nspname, c.relname)
+            FROM pg_index i
+            JOIN pg_class c ON c.oid = i.indexrelid
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            WHERE NOT i.indisvalid AND n.nspname = ANY (?)""";
+
+    private final Duration lockTimeout;
+    private final Duration lockWaitSampleInterval;
+    private final JdbcClient jdbcClient;
+    private final MigrationReport report;
+
+    // Flyway applies migrations one at a time on a single thread
+    private long startedAt;
+    private long rowsBefore;
+    private LockWaitSampler lockWaitSampler;
+    private boolean freshSchema;
+
+    // built from the DataSource: the JdbcClient bean itself waits for Flyway to finish
+    public FlywayMigrationCallback(MigrationProperties properties, DataSource dataSource, MigrationReport report) {
+        this.lockTimeout = properties.lockTimeout();
+        this.lockWaitSampleInterval = properties.lockWaitSampleInterval();
+        this.jdbcClient = JdbcClient.create(dataSource);
+        this.report = report;
+    }
+
+    // set by the migrate strategy before each run
+    public void freshSchema(boolean freshSchema) {
+        this.freshSchema = freshSchema;
+    }
+
     @Override
     public boolean supports(Event event, Context context) {
         return event == Event.AFTER_MIGRATE
                 || event == Event.BEFORE_MIGRATE
+                || event == Event.BEFORE_EACH_MIGRATE
+                || event == Event.AFTER_EACH_MIGRATE
+                || event == Event.AFTER_EACH_MIGRATE_ERROR
                 || event == Event.AFTER_MIGRATE_ERROR
                 || event == Event.BEFORE_VALIDATE
                 || event == Event.AFTER_VALIDATE;
@@ -29,15 +78,120 @@ public class FlywayMigrationCallback implements Callback {
     @Override
     public void handle(Event event, Context context) {
         switch (event) {
-            case BEFORE_MIGRATE -> log.info("→ Starting Flyway migration...");
-            case AFTER_MIGRATE -> log.info("✓ Flyway migration completed successfully");
-            case AFTER_MIGRATE_ERROR -> log.error("✗ Flyway migration failed");
+            case BEFORE_MIGRATE -> log.info(
+                    freshSchema
+                            ? "→ Starting Flyway migration on an empty schema..."
+                            : "→ Starting Flyway migration...");
+            case BEFORE_EACH_MIGRATE -> beforeEach(context);
+            case AFTER_EACH_MIGRATE -> afterEach(context, true);
+            case AFTER_EACH_MIGRATE_ERROR -> afterEach(context, false);
+            case AFTER_MIGRATE -> {
+                log.info("✓ Flyway migration completed successfully");
+                report.log();
+            }
+            case AFTER_MIGRATE_ERROR -> {
+                log.error("✗ Flyway migration failed");
+                report.log();
+            }
             case BEFORE_VALIDATE -> log.info("→ Validating migrations...");
             case AFTER_VALIDATE -> log.info("✓ Migration validation completed");
             default -> {}
         }
     }
 
+    private void beforeEach(Context context) {
+        var connection = context.getConnection();
+        if (concurrentBuild(context)) {
+            // CONCURRENTLY waits for every older transaction by design; a timeout would only leave an invalid index
+            setLockTimeout(connection, "0");
+            dropInvalidIndexes(connection, context.getConfiguration().getSchemas());
+        } else {
+            // a DDL statement queued behind a long transaction blocks every writer queued behind it; fail fast instead
+            setLockTimeout(connection, lockTimeout.toMillis() + "ms");
+        }
+        rowsBefore = rowsWritten(connection);
+        // nothing can contend for locks in an empty schema, so skip the sampler and its second connection
+        lockWaitSampler = freshSchema
+                ? null
+                : LockWaitSampler.start(jdbcClient, backendPid(connection), lockWaitSampleInterval);
+        startedAt = System.nanoTime();
+    }
+
+    private void afterEach(Context context, boolean success) {
+        var duration = Duration.ofNanos(System.nanoTime() - startedAt);
+        var lockWait = lockWaitSampler != null ? lockWaitSampler.stop() : Duration.ZERO;
+        lockWaitSampler = null;
+        // the transaction of a failed script is already aborted, so its row count cannot be read any more
+        var rows = success ? rowsWritten(context.getConnection()) - rowsBefore : 0;
+        var migration = context.getMigrationInfo();
+        report.record(new MigrationTiming(
+                migration.getVersion() != null ? migration.getVersion().getVersion() : null,
+                migration.getScript(),
+                duration,
+                rows,
+                lockWait,
+                success));
+    }
+
+    // SQL scripts run outside a transaction only for CREATE/DROP INDEX CONCURRENTLY; Java backfills keep the timeout
+    private static boolean concurrentBuild(Context context) {
+        try {
+            return context.getConnection().getAutoCommit()
+                    && CoreMigrationType.SQL.equals(context.getMigrationInfo().getType());
+        } catch (SQLException e) {
+            throw new FlywayException("Could not read auto-commit mode", e);
+        }
+    }
+
+    private static void setLockTimeout(Connection connection, String timeout) {
+        try (var statement = connection.createStatement()) {
+            statement.execute("SET lock_timeout = '" + timeout + "'");
+        } catch (SQLException e) {
+            throw new FlywayException("Could not set lock_timeout", e);
+        }
+    }
+
+    // dropped before a retry, so the script's CREATE INDEX CONCURRENTLY IF NOT EXISTS builds them again
+    private static void dropInvalidIndexes(Connection connection, String[] schemas) {
+        try (var query = connection.prepareStatement(INVALID_INDEXES_SQL)) {
+            query.setArray(1, connection.createArrayOf("text", schemas));
+            var indexes = new ArrayList<String>();
+            try (var rs = query.executeQuery()) {
+                while (rs.next()) {
+                    indexes.add(rs.getString(1));
+                }
+            }
+            try (var statement = connection.createStatement()) {
+                for (var index : indexes) {
+                    log.warn("Dropping invalid index {} left by a failed concurrent build", index);
+                    statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index);
+                }
+            }
+        } catch (SQLException e) {
+            throw new FlywayException("Could not drop invalid indexes", e);
+        }
+    }
+
+    private static long rowsWritten(Connection connection) {
+        try (var statement = connection.createStatement();
+                var rs = statement.executeQuery(ROWS_WRITTEN_SQL)) {
+            rs.next();
+            return rs.getLong(1);
+        } catch (SQLException e) {
+            throw new FlywayException("Could not read transaction statistics", e);
+        }
+    }
+
+    private static int backendPid(Connection connection) {
+        try (var statement = connection.createStatement();
+                var rs = statement.executeQuery("SELECT pg_backend_pid()")) {
+            rs.next();
+            return rs.getInt(1);
+        } catch (SQLException e) {
+            throw new FlywayException("Could not read backend pid", e);
+        }
+    }
+
     @Override
     public String getCallbackName() {
         return "FlywayMigrationCallback";
@@ -0,0 +1,63 @@
+package io.github.mm.flyway.infrastructure.flyway;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+// PostgreSQL keeps no per-statement lock wait history, so a second connection polls the migration backend instead
+final class LockWaitSampler {
+
+    private static final String WAITING_ON_LOCK_SQL =
+            "SELECT count(*) FROM pg_stat_activity WHERE pid = :pid AND wait_event_type = 'Lock'";
+
+    private final JdbcClient jdbcClient;
+    private final int pid;
+    private final Duration interval;
+    private final AtomicLong waitedNanos = new AtomicLong();
+    private volatile boolean running = true;
+
+    private LockWaitSampler(JdbcClient jdbcClient, int pid, Duration interval) {
+        this.jdbcClient = jdbcClient;
+        this.pid = pid;
+        this.interval = interval;
+    }
+
+    static LockWaitSampler start(JdbcClient jdbcClient, int pid, Duration interval) {
+        var sampler = new LockWaitSampler(jdbcClient, pid, interval);
+        Thread.ofVirtual().name("migration-lock-wait-" + pid).start(sampler::sample);
+        return sampler;
+    }
+
+    // no interrupt: it would close the sampling connection's socket mid-query
+    Duration stop() {
+        running = false;
+        return Duration.ofNanos(waitedNanos.get());
+    }
+
+    private void sample() {
+        var last = System.nanoTime();
+        while (running) {
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                return;
+            }
+            var now = System.nanoTime();
+            long waiting;
+            try {
+                waiting = jdbcClient
+                        .sql(WAITING_ON_LOCK_SQL)
+                        .param("pid", pid)
+                        .query(Long.class)
+                        .single();
+            } catch (DataAccessException e) {
+                return; // best effort: a failed sample must not fail the migration
+            }
+            if (running && waiting > 0) {
+                waitedNanos.addAndGet(now - last);
+            }
+            last = now;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.mm.flyway.infrastructure.flyway;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MigrationReport {
+
+    private static final Logger log = LoggerFactory.getLogger(MigrationReport.class);
+
+    private final MeterRegistry registry;
+    private final List<MigrationTiming> timings = new CopyOnWriteArrayList<>();
+
+    public MigrationReport(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void record(MigrationTiming timing) {
+        timings.add(timing);
+        var status = timing.success() ? "success" : "failure";
+        Timer.builder("flyway.migration.duration")
+                .tag("script", timing.script())
+                .tag("status", status)
+                .register(registry)
+                .record(timing.duration());
+        Timer.builder("flyway.migration.lock.wait")
+                .tag("script", timing.script())
+                .register(registry)
+                .record(timing.lockWait());
+        DistributionSummary.builder("flyway.migration.rows")
+                .tag("script", timing.script())
+                .register(registry)
+                .record(timing.rowsAffected());
+    }
+
+    public List<MigrationTiming> timings() {
+        return List.copyOf(timings);
+    }
+
+    // slowest first, so the regression is at the top of the startup log
+    public void log() {
+        if (timings.isEmpty()) {
+            return;
+        }
+        log.info("Migration report ({} scripts):", timings.size());
+        timings.stream()
+                .sorted(Comparator.comparing(MigrationTiming::duration).reversed())
+                .forEach(timing -> log.info(
+                        "  {} {} ms, {} rows, {} ms lock wait{}",
+                        timing.script(),
+                        timing.duration().toMillis(),
+                        timing.rowsAffected(),
+                        timing.lockWait().toMillis(),
+                        timing.success() ? "" : " (failed)"));
+    }
+}
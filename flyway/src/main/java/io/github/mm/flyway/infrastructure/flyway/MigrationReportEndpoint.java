@@ -0,0 +1,22 @@
+package io.github.mm.flyway.infrastructure.flyway;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "migrationreport")
+public class MigrationReportEndpoint {
+
+    private final MigrationReport report;
+
+    public MigrationReportEndpoint(MigrationReport report) {
+        this.report = report;
+    }
+
+    @ReadOperation
+    public List<MigrationTiming> timings() {
+        return report.timings();
+    }
+}
@@ -0,0 +1,6 @@
+package io.github.mm.flyway.infrastructure.flyway;
+
+import java.time.Duration;
+
+public record MigrationTiming(
+        String version, String script, Duration duration, long rowsAffected, Duration lockWait, boolean success) {}
@@ -0,0 +1,31 @@
+package io.github.mm.flyway.infrastructure.flyway.migration;
+
+import io.github.mm.flyway.infrastructure.config.MigrationProperties;
+import io.github.mm.flyway.infrastructure.flyway.BatchedBackfillMigration;
+import org.springframework.stereotype.Component;
+
+// V2.2 only assigned SKUs to the seed rows; this gives every remaining product the same PROD-00000 format.
+// Products that already have a SKU are left alone, and ids past five digits keep every digit, so no two rows share one
+
+@Component
+public class V7_4__Backfill_product_skus extends BatchedBackfillMigration {
+
+    public V7_4__Backfill_product_skus(MigrationProperties properties) {
+        super(properties.backfillBatchSize());
+    }
+
+    @Override
+    protected String table() {
+        return "dbo.products";
+    }
+
+    @Override
+    protected String setClause() {
+        return "sku = 'PROD-' || LPAD(id::TEXT, GREATEST(length(id::TEXT), 5), '0')";
+    }
+
+    @Override
+    protected String pendingPredicate() {
+        return "sku IS NULL";
+    }
+}
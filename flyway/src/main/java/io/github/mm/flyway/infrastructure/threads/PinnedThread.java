@@ -0,0 +1,7 @@
+package io.github.mm.flyway.infrastructure.threads;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+public record PinnedThread(Instant startTime, Duration duration, String source, List<String> stackTrace) {}
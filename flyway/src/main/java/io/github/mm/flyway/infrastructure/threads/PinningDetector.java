@@ -0,0 +1,105 @@
+package io.github.mm.flyway.infrastructure.threads;
+
+import io.github.mm.flyway.infrastructure.config.PinningProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+// Streams JFR jdk.VirtualThreadPinned events: a virtual thread that blocks while pinned holds its carrier thread,
+// so a few pinned JDBC calls can stall every request. Each distinct stack is logged once, all are counted.
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class PinningDetector implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PinningDetector.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final PinningProperties properties;
+    private final MeterRegistry registry;
+    private final Deque<PinnedThread> recent = new ConcurrentLinkedDeque<>();
+    private final Set<List<String>> reported = ConcurrentHashMap.newKeySet();
+    private volatile RecordingStream stream;
+
+    public PinningDetector(PinningProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Override
+    public void start() {
+        var recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(properties.threshold()).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        stream = recording;
+    }
+
+    @Override
+    public void stop() {
+        stream.close();
+        stream = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    public List<PinnedThread> recent() {
+        return List.copyOf(recent);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        var frames = event.getStackTrace() != null
+                ? event.getStackTrace().getFrames().stream()
+                        .limit(properties.stackDepth())
+                        .map(PinningDetector::describe)
+                        .toList()
+                : List.<String>of();
+        var pinned = new PinnedThread(event.getStartTime(), event.getDuration(), source(frames), frames);
+
+        Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier")
+                .tag("source", pinned.source())
+                .register(registry)
+                .record(pinned.duration());
+        recent.addFirst(pinned);
+        while (recent.size() > properties.recentEvents()) {
+            recent.pollLast();
+        }
+        if (reported.add(frames)) {
+            log.warn(
+                    "Virtual thread pinned for {} ms in {}:\n\tat {}",
+                    pinned.duration().toMillis(),
+                    pinned.source(),
+                    String.join("\n\tat ", frames));
+        }
+    }
+
+    // the first frame outside the JDK is the driver, pool or application code that caused the pinning
+    private static String source(List<String> frames) {
+        return frames.stream()
+                .filter(frame -> !frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun."))
+                .map(frame -> frame.substring(0, frame.lastIndexOf('.')))
+                .findFirst()
+                .orElse("unknown");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        var method = frame.getMethod();
+        return method.getType().getName() + "." + method.getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.mm.flyway.infrastructure.threads;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class PinningEndpoint {
+
+    private final PinningDetector detector;
+
+    public PinningEndpoint(PinningDetector detector) {
+        this.detector = detector;
+    }
+
+    @ReadOperation
+    public List<PinnedThread> recent() {
+        return detector.recent();
+    }
+}
@@ -0,0 +1,260 @@
+package io.github.mm.flyway.product;
+
+import io.github.mm.flyway.infrastructure.AfterCommit;
+import io.github.mm.flyway.infrastructure.SystemClock;
+import io.github.mm.flyway.infrastructure.audit.AuditProvider;
+import io.github.mm.flyway.product.domain.BatchItem;
+import io.github.mm.flyway.product.domain.BatchItemResult;
+import io.github.mm.flyway.product.domain.BatchItemStatus;
+import io.github.mm.flyway.product.domain.ImportResult;
+import io.github.mm.flyway.product.internal.ProductCache;
+import io.github.mm.flyway.product.internal.ProductCountCache;
+import io.github.mm.flyway.product.internal.config.ProductProperties;
+import io.github.mm.flyway.product.outbox.ProductChangeType;
+import io.github.mm.flyway.product.repository.ProductRepository;
+import jakarta.validation.Validator;
+import java.io.Reader;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class ProductBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductBatchService.class);
+
+    private final ProductRepository repository;
+    private final SystemClock clock;
+    private final AuditProvider auditProvider;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductCountCache countCache;
+    private final ProductCache productCache;
+    private final int chunkSize;
+
+    public ProductBatchService(
+            ProductRepository repository,
+            SystemClock clock,
+            AuditProvider auditProvider,
+            Validator validator,
+            TransactionTemplate transactionTemplate,
+            ProductCountCache countCache,
+            ProductCache productCache,
+            ProductProperties properties) {
+        this.repository = repository;
+        this.clock = clock;
+        this.auditProvider = auditProvider;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.countCache = countCache;
+        this.productCache = productCache;
+        this.chunkSize = properties.batch().chunkSize();
+    }
+
+    @Transactional
+    public ImportResult copyCsv(Reader csv, boolean header) {
+        var now = importTime();
+        return copy(now, () -> repository.copyCsv(csv, header, now, auditProvider.user()));
+    }
+
+    @Transactional
+    public ImportResult copyNdjson(Reader ndjson) {
+        var now = importTime();
+        return copy(now, () -> repository.copyNdjson(ndjson, now, auditProvider.user()));
+    }
+
+    // PostgreSQL keeps microseconds, so the outbox lookup compares against the value COPY actually stored
+    private Instant importTime() {
+        return clock.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private ImportResult copy(Instant now, LongSupplier copy) {
+        var started = System.nanoTime();
+        var rows = copy.getAsLong();
+        repository.recordImported(now);
+        var result = new ImportResult(rows, Duration.ofNanos(System.nanoTime() - started));
+        log.info(
+                "COPY imported {} products in {} ms ({} rows/s)",
+                rows,
+                result.elapsed().toMillis(),
+                result.rowsPerSecond());
+        AfterCommit.run(countCache::invalidate);
+        return result;
+    }
+
+    public List<BatchItemResult> importAll(Stream<BatchItem> items) {
+        return process(items, ProductBatchService::checkVersion, this::writeChunk);
+    }
+
+    // matches live products by SKU instead of id, so a supplier feed can be replayed without lookups
+    public List<BatchItemResult> upsertAll(Stream<BatchItem> items) {
+        var skus = new HashSet<String>();
+        return process(items, item -> checkSku(item, skus), this::upsertChunk);
+    }
+
+    // each chunk is written in its own transaction, so one bad chunk does not roll back the whole import
+    private List<BatchItemResult> process(
+            Stream<BatchItem> items,
+            Function<BatchItem, String> check,
+            Function<List<BatchItem>, List<BatchItemResult>> writer) {
+        var results = new ArrayList<BatchItemResult>();
+        var chunk = new ArrayList<BatchItem>(chunkSize);
+        items.forEachOrdered(item -> {
+            var rejection = item.isRejected() ? item.rejection() : validate(item);
+            if (rejection == null) {
+                rejection = check.apply(item);
+            }
+            if (rejection != null) {
+                results.add(BatchItemResult.error(item.index(), null, BatchItemStatus.INVALID, rejection));
+                return;
+            }
+            chunk.add(item);
+            if (chunk.size() == chunkSize) {
+                results.addAll(writer.apply(chunk));
+                chunk.clear();
+            }
+        });
+        if (!chunk.isEmpty()) {
+            results.addAll(writer.apply(chunk));
+        }
+        if (results.stream().anyMatch(result -> result.status() == BatchItemStatus.CREATED)) {
+            countCache.invalidate();
+        }
+        results.stream()
+                .filter(result -> result.status() == BatchItemStatus.UPDATED)
+                .forEach(result -> productCache.evict(result.id()));
+        results.sort(Comparator.comparingInt(BatchItemResult::index));
+        return results;
+    }
+
+    private String validate(BatchItem item) {
+        var violations = validator.validate(item.product());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    // updates take the same optimistic lock as a single update, so an item with an id must say which version it edits
+    private static String checkVersion(BatchItem item) {
+        var product = item.product();
+        return product.id() != null && product.version() == null ? "version: required to update a product" : null;
+    }
+
+    // ON CONFLICT cannot touch the same row twice in one statement, so a repeated SKU is rejected up front
+    private static String checkSku(BatchItem item, Set<String> skus) {
+        var sku = item.product().sku();
+        if (sku == null || sku.isBlank()) {
+            return "sku: must not be blank";
+        }
+        return skus.add(sku) ? null : "sku: duplicate of an earlier item";
+    }
+
+    private List<BatchItemResult> writeChunk(List<BatchItem> chunk) {
+        var now = clock.now();
+        var user = auditProvider.user();
+        var inserts = chunk.stream().filter(item -> item.product().id() == null).toList();
+        var updates = chunk.stream().filter(item -> item.product().id() != null).toList();
+        try {
+            return transactionTemplate.execute(transaction -> {
+                var results = new ArrayList<BatchItemResult>(chunk.size());
+
+                var created = repository.insertAll(inserts.stream()
+                        .map(item -> item.product().withAuditFields(now, user))
+                        .toList());
+                for (int i = 0; i < inserts.size(); i++) {
+                    var item = inserts.get(i);
+                    results.add(BatchItemResult.of(item.index(), created.get(i).id(), BatchItemStatus.CREATED));
+                }
+
+                var updated = repository.updateAll(updates.stream()
+                        .map(item -> item.product().withAuditFields(now, user))
+                        .toList());
+                var stale = staleIds(updates, updated);
+                for (int i = 0; i < updates.size(); i++) {
+                    var item = updates.get(i);
+                    var id = item.product().id();
+                    var status = updated[i] > 0
+                            ? BatchItemStatus.UPDATED
+                            : stale.contains(id) ? BatchItemStatus.CONFLICT : BatchItemStatus.NOT_FOUND;
+                    results.add(BatchItemResult.of(item.index(), id, status));
+                }
+                recordChanges(results, now);
+                return results;
+            });
+        } catch (DataAccessException e) {
+            return failed(chunk, e);
+        }
+    }
+
+    // like a single update, the existence check only runs for the items that updated nothing
+    private Set<Long> staleIds(List<BatchItem> updates, int[] updated) {
+        var missed = IntStream.range(0, updates.size())
+                .filter(i -> updated[i] == 0)
+                .mapToObj(i -> updates.get(i).product().id())
+                .toList();
+        if (missed.isEmpty()) {
+            return Set.of();
+        }
+        var existing = new HashSet<Long>();
+        repository.findAllById(missed).forEach(product -> existing.add(product.id()));
+        return existing;
+    }
+
+    private List<BatchItemResult> upsertChunk(List<BatchItem> chunk) {
+        var now = clock.now();
+        var products = chunk.stream().map(BatchItem::product).toList();
+        try {
+            return transactionTemplate.execute(transaction -> {
+                var upserts = repository.upsertAllBySku(products, now, auditProvider.user());
+                var results = IntStream.range(0, chunk.size())
+                        .mapToObj(i -> BatchItemResult.of(
+                                chunk.get(i).index(), upserts.get(i).id(), upserts.get(i).status()))
+                        .toList();
+                recordChanges(results, now);
+                return results;
+            });
+        } catch (DataAccessException e) {
+            return failed(chunk, e);
+        }
+    }
+
+    // unchanged and not-found items wrote nothing, so they produce no change event
+    private void recordChanges(List<BatchItemResult> results, Instant now) {
+        repository.recordChanges(idsWithStatus(results, BatchItemStatus.CREATED), ProductChangeType.CREATED, now);
+        repository.recordChanges(idsWithStatus(results, BatchItemStatus.UPDATED), ProductChangeType.UPDATED, now);
+    }
+
+    private static List<Long> idsWithStatus(List<BatchItemResult> results, BatchItemStatus status) {
+        return results.stream()
+                .filter(result -> result.status() == status)
+                .map(BatchItemResult::id)
+                .toList();
+    }
+
+    private static List<BatchItemResult> failed(List<BatchItem> chunk, DataAccessException e) {
+        var error = e.getMostSpecificCause().getMessage();
+        return chunk.stream()
+                .map(item -> BatchItemResult.error(item.index(), item.product().id(), BatchItemStatus.FAILED, error))
+                .toList();
+    }
+}
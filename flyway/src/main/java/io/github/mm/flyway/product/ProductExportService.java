@@ -0,0 +1,32 @@
+package io.github.mm.flyway.product;
+
+import io.github.mm.flyway.product.domain.Product;
+import io.github.mm.flyway.product.internal.config.ProductProperties;
+import io.github.mm.flyway.product.repository.ProductRepository;
+import java.util.function.Consumer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class ProductExportService {
+
+    private final ProductRepository repository;
+    private final int fetchSize;
+
+    public ProductExportService(ProductRepository repository, ProductProperties properties) {
+        this.repository = repository;
+        this.fetchSize = properties.export().fetchSize();
+    }
+
+    // the sink is fed while the cursor is open, so it must write synchronously on the calling thread
+    @Transactional(readOnly = true)
+    public long exportAll(Consumer<Product> sink) {
+        try (var products = repository.streamAll(fetchSize)) {
+            var count = 0L;
+            for (var iterator = products.iterator(); iterator.hasNext(); count++) {
+                sink.accept(iterator.next());
+            }
+            return count;
+        }
+    }
+}
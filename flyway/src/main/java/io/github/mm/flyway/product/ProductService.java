@@ -1,16 +1,32 @@
 package io.github.mm.flyway.product;
 
+import io.github.mm.flyway.infrastructure.AfterCommit;
 import io.github.mm.flyway.infrastructure.SystemClock;
 import io.github.mm.flyway.infrastructure.audit.AuditProvider;
 import io.github.mm.flyway.infrastructure.exception.NotFoundException;
+import io.github.mm.flyway.infrastructure.exception.PreconditionRequiredException;
 import io.github.mm.flyway.product.domain.Product;
+import io.github.mm.flyway.product.domain.ProductSearchHit;
+import io.github.mm.flyway.product.domain.ProductStats;
+import io.github.mm.flyway.product.internal.ProductCache;
+import io.github.mm.flyway.product.internal.ProductCountCache;
+import io.github.mm.flyway.product.outbox.ProductChangeType;
+import io.github.mm.flyway.product.repository.ProductKeyset;
 import io.github.mm.flyway.product.repository.ProductRepository;
+import io.github.mm.flyway.product.repository.ProductSearch;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import org.jspecify.annotations.NonNull;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 @Service
@@ -20,61 +36,129 @@ public class ProductService {
     private final ProductRepository repository;
     private final SystemClock clock;
     private final AuditProvider auditProvider;
+    private final ProductCountCache countCache;
+    private final ProductCache productCache;
+    private final TransactionTemplate transactionTemplate;
 
-    public ProductService(ProductRepository repository, SystemClock clock, AuditProvider auditProvider) {
+    public ProductService(
+            ProductRepository repository,
+            SystemClock clock,
+            AuditProvider auditProvider,
+            ProductCountCache countCache,
+            ProductCache productCache,
+            TransactionTemplate transactionTemplate) {
         this.repository = repository;
         this.clock = clock;
         this.auditProvider = auditProvider;
+        this.countCache = countCache;
+        this.productCache = productCache;
+        this.transactionTemplate = transactionTemplate;
     }
 
-    public Page<@NonNull Product> findAll(Pageable pageable) {
-        return repository.findAll(pageable);
+    public Page<@NonNull Product> findAll(Pageable pageable, TotalCountMode countMode) {
+        if (countMode == TotalCountMode.EXACT) {
+            return repository.findAll(pageable);
+        }
+        var content = repository.findPageContent(pageable);
+        // the supplier is only consulted when the total cannot be derived from the page itself
+        return PageableExecutionUtils.getPage(content, pageable, () -> switch (countMode) {
+            case ESTIMATED -> repository.estimateCount();
+            case CACHED -> countCache.get(repository::count);
+            case EXACT -> repository.count();
+        });
+    }
+
+    // the cached count holds the unfiltered total only, so CACHED counts a tag filter exactly
+    public Page<@NonNull Product> findAllByTags(Collection<String> tags, Pageable pageable, TotalCountMode countMode) {
+        var content = repository.findPageContentByTags(tags, pageable);
+        return PageableExecutionUtils.getPage(content, pageable, () -> switch (countMode) {
+            case ESTIMATED -> repository.estimateCountByTags(tags);
+            case CACHED, EXACT -> repository.countByTags(tags);
+        });
+    }
+
+    public Map<Long, List<String>> findTagNames(Collection<Product> products) {
+        return repository.findTagNames(products.stream().map(Product::id).toList());
     }
 
     public Slice<@NonNull Product> scroll(String cursor, Pageable pageable) {
-        if (!StringUtils.hasLength(cursor)) {
-            return repository.findAllByOrderByIdAsc(pageable); // separate query, no WHERE clause
-        }
-        var lastId = parseCursor(cursor);
-        return repository.findByIdGreaterThanOrderByIdAsc(lastId, pageable);
+        var keyset = StringUtils.hasLength(cursor)
+                ? ProductKeyset.decode(cursor) // the cursor carries its own sort, so follow-up pages stay consistent
+                : ProductKeyset.of(pageable.getSort());
+        return repository.scroll(keyset, pageable.getPageSize());
     }
 
-    private long parseCursor(String cursor) {
-        try {
-            return Long.parseLong(cursor);
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Invalid cursor format: " + cursor, e);
-        }
+    public Slice<@NonNull ProductSearchHit> search(String text, String cursor, int size) {
+        return repository.search(ProductSearch.of(text, cursor), size);
+    }
+
+    public ProductStats stats(StatsSource source) {
+        return switch (source) {
+            case LIVE -> repository.computeStats();
+            case SNAPSHOT -> repository.findStatsSnapshot();
+        };
     }
 
+    // SUPPORTS: a cache hit should not check out a connection just to open an empty transaction.
+    // A miss loads in a read-write transaction, so from the primary: a row read from a lagging replica right after
+    // update() evicted it would otherwise be served for the whole cache TTL instead of for the replica lag.
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Product findById(Long id) {
-        return repository.findById(id).orElseThrow(() -> new NotFoundException("Product not found with id: " + id));
+        return productCache
+                .get(id, key -> transactionTemplate.execute(transaction -> repository.findById(key)))
+                .orElseThrow(() -> notFound(id));
     }
 
+    // every write appends its change event to the outbox in the same transaction, see ProductOutboxRelay
     @Transactional
     public Product create(Product product) {
-        var productToSave = product.withAuditFields(clock.now(), auditProvider.user());
-        return repository.save(productToSave);
+        var now = clock.now();
+        var saved = repository.save(product.withAuditFields(now, auditProvider.user()));
+        repository.recordChanges(List.of(saved.id()), ProductChangeType.CREATED, now);
+        AfterCommit.run(countCache::invalidate);
+        return saved;
     }
 
+    // the version is mandatory: without it two clients editing the same product would silently overwrite each other
     @Transactional
     public Product update(Long id, Product product) {
-        var existing = findById(id);
-        var updatedProduct = existing.withUpdatedFields(
-                product.name(),
-                product.description(),
-                product.price(),
-                product.stockQuantity(),
-                product.sku(),
-                product.category(),
-                product.status(),
-                clock.now(),
-                auditProvider.user());
-        return repository.save(updatedProduct);
+        if (product.version() == null) {
+            throw new PreconditionRequiredException("Updating product with id: " + id + " requires its version");
+        }
+        var now = clock.now();
+        var changes = product.withId(id).withUpdateAuditFields(now, auditProvider.user());
+        // the existence check only runs on the failure path, to tell a stale version from a missing row
+        var saved = repository
+                .updateReturning(changes)
+                .orElseThrow(() -> repository.existsById(id) ? conflict(id, product.version()) : notFound(id));
+        repository.recordChanges(List.of(id), ProductChangeType.UPDATED, now);
+        evict(id);
+        return saved;
     }
 
     @Transactional
     public void deleteById(Long id) {
-        repository.deleteById(id);
+        var now = clock.now();
+        if (repository.softDeleteById(id, now)) { // ProductPurger removes the row later
+            repository.recordChanges(List.of(id), ProductChangeType.DELETED, now);
+        }
+        evict(id);
+        AfterCommit.run(countCache::invalidate);
+    }
+
+    // evicting now keeps this transaction from reading its own stale entry; evicting again after commit drops any
+    // copy a concurrent reader cached from the pre-commit state
+    private void evict(Long id) {
+        productCache.evict(id);
+        AfterCommit.run(() -> productCache.evict(id));
+    }
+
+    private static NotFoundException notFound(Long id) {
+        return new NotFoundException("Product not found with id: " + id);
+    }
+
+    private static OptimisticLockingFailureException conflict(Long id, Long version) {
+        return new OptimisticLockingFailureException(
+                "Product with id: " + id + " was modified concurrently, version " + version + " is stale");
     }
 }
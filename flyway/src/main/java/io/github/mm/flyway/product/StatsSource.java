@@ -0,0 +1,6 @@
+package io.github.mm.flyway.product;
+
+public enum StatsSource {
+    LIVE,
+    SNAPSHOT
+}
@@ -0,0 +1,7 @@
+package io.github.mm.flyway.product;
+
+public enum TotalCountMode {
+    EXACT,
+    ESTIMATED,
+    CACHED
+}
@@ -0,0 +1,16 @@
+package io.github.mm.flyway.product.domain;
+
+public record BatchItem(int index, Product product, String rejection) {
+
+    public static BatchItem of(int index, Product product) {
+        return new BatchItem(index, product, null);
+    }
+
+    public static BatchItem rejected(int index, String rejection) {
+        return new BatchItem(index, null, rejection);
+    }
+
+    public boolean isRejected() {
+        return rejection != null;
+    }
+}
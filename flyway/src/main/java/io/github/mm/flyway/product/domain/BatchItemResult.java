@@ -0,0 +1,18 @@
+package io.github.mm.flyway.product.domain;
+
+public record BatchItemResult(int index, Long id, BatchItemStatus status, String error) {
+
+    public static BatchItemResult of(int index, Long id, BatchItemStatus status) {
+        return new BatchItemResult(index, id, status, null);
+    }
+
+    public static BatchItemResult error(int index, Long id, BatchItemStatus status, String error) {
+        return new BatchItemResult(index, id, status, error);
+    }
+
+    public boolean isSuccessful() {
+        return status == BatchItemStatus.CREATED
+                || status == BatchItemStatus.UPDATED
+                || status == BatchItemStatus.UNCHANGED;
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.mm.flyway.product.domain;
+
+public enum BatchItemStatus {
+    CREATED,
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND,
+    CONFLICT,
+    INVALID,
+    FAILED
+}
@@ -0,0 +1,11 @@
+package io.github.mm.flyway.product.domain;
+
+import java.time.Duration;
+
+public record ImportResult(long rows, Duration elapsed) {
+
+    public long rowsPerSecond() {
+        var nanos = Math.max(elapsed.toNanos(), 1);
+        return rows * 1_000_000_000L / nanos;
+    }
+}
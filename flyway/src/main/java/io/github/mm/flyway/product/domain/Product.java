@@ -10,10 +10,11 @@ import jakarta.validation.constraints.Size;
 import java.math.BigDecimal;
 import java.time.Instant;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
-@Table("products")
+@Table("active_products") // live rows only, see V7.7
 public record Product(
         @Id Long id,
 
@@ -47,18 +48,28 @@ public record Product(
         String createdBy,
 
         @Column("updated_by") @Size(max = 100, message = "Updated by must not exceed 100 characters")
-        String updatedBy) {
-
-    public Product withUpdatedFields(
-            String name,
-            String description,
-            BigDecimal price,
-            Integer stockQuantity,
-            String sku,
-            ProductCategory category,
-            ProductStatus status,
-            Instant updatedAt,
-            String updatedBy) {
+        String updatedBy,
+
+        @Version Long version) {
+
+    public Product withUpdateAuditFields(Instant now, String username) {
+        return new Product(
+                id,
+                name,
+                description,
+                price,
+                stockQuantity,
+                sku,
+                category,
+                status,
+                createdAt,
+                now,
+                createdBy,
+                username,
+                version);
+    }
+
+    public Product withId(Long id) {
         return new Product(
                 id,
                 name,
@@ -71,11 +82,24 @@ public record Product(
                 createdAt,
                 updatedAt,
                 createdBy,
-                updatedBy);
+                updatedBy,
+                version);
     }
 
     public Product withAuditFields(Instant now, String username) {
         return new Product(
-                id, name, description, price, stockQuantity, sku, category, status, now, now, username, username);
+                id,
+                name,
+                description,
+                price,
+                stockQuantity,
+                sku,
+                category,
+                status,
+                now,
+                now,
+                username,
+                username,
+                version);
     }
 }
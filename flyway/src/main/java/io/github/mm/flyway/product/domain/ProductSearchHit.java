@@ -0,0 +1,3 @@
+package io.github.mm.flyway.product.domain;
+
+public record ProductSearchHit(Product product, float rank) {}
@@ -0,0 +1,11 @@
+package io.github.mm.flyway.product.domain;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+public record ProductStats(List<Group> byCategory, List<Group> byStatus, Group total, Instant computedAt) {
+
+    // stockValue is the sum of price * stock quantity
+    public record Group(String key, long count, BigDecimal stockValue, BigDecimal minPrice, BigDecimal maxPrice) {}
+}
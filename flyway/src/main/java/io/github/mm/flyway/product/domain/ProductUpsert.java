@@ -0,0 +1,3 @@
+package io.github.mm.flyway.product.domain;
+
+public record ProductUpsert(Long id, String sku, BatchItemStatus status) {}
@@ -0,0 +1,54 @@
+package io.github.mm.flyway.product.internal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.mm.flyway.infrastructure.SystemClock;
+import io.github.mm.flyway.product.domain.Product;
+import io.github.mm.flyway.product.internal.config.ProductProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProductCache {
+
+    private static final String CACHE_NAME = "products";
+
+    private final Cache<Long, Product> entries;
+
+    public ProductCache(SystemClock clock, ProductProperties properties, MeterRegistry registry) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.cache().maxSize())
+                .expireAfterWrite(properties.cache().ttl())
+                .ticker(() -> {
+                    var now = clock.now();
+                    return TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+                })
+                .recordStats()
+                .build();
+        // cache.gets, cache.evictions, cache.size and friends, tagged cache=products
+        CaffeineCacheMetrics.monitor(registry, entries, CACHE_NAME);
+    }
+
+    // a miss loads inside the entry's compute, so an evict() for the same id waits for the load and then removes it;
+    // a row read before a concurrent update is never left behind. An empty result is not cached.
+    public Optional<Product> get(Long id, Function<Long, Optional<Product>> loader) {
+        return Optional.ofNullable(entries.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public void evict(Long id) {
+        entries.invalidate(id);
+    }
+
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    long size() {
+        entries.cleanUp(); // size and expiry evictions are applied lazily
+        return entries.estimatedSize();
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.mm.flyway.product.internal;
+
+import io.github.mm.flyway.infrastructure.SystemClock;
+import io.github.mm.flyway.product.internal.config.ProductProperties;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProductCountCache {
+
+    private final SystemClock clock;
+    private final Duration ttl;
+    private final AtomicReference<CachedCount> cached = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public ProductCountCache(SystemClock clock, ProductProperties properties) {
+        this.clock = clock;
+        this.ttl = properties.count().cacheTtl();
+    }
+
+    public long get(LongSupplier loader) {
+        var now = clock.now();
+        var current = cached.get();
+        if (current != null && current.expiresAt().isAfter(now)) {
+            return current.value();
+        }
+        var loadedGeneration = generation.get();
+        var value = loader.getAsLong();
+        if (generation.get() == loadedGeneration) { // do not cache a count read before a concurrent invalidation
+            cached.set(new CachedCount(value, now.plus(ttl)));
+        }
+        return value;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        cached.set(null);
+    }
+
+    private record CachedCount(long value, Instant expiresAt) {}
+}
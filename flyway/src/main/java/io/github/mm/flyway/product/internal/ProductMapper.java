@@ -1,11 +1,27 @@
 package io.github.mm.flyway.product.internal;
 
+import io.github.mm.flyway.product.domain.BatchItem;
+import io.github.mm.flyway.product.domain.BatchItemResult;
+import io.github.mm.flyway.product.domain.ImportResult;
 import io.github.mm.flyway.product.domain.Product;
+import io.github.mm.flyway.product.domain.ProductSearchHit;
+import io.github.mm.flyway.product.domain.ProductStats;
 import io.github.mm.flyway.product.domain.ProductStatus;
+import io.github.mm.flyway.product.repository.ProductKeyset;
+import io.github.mm.flyway.product.repository.ProductSearch;
+import io.github.mm.flyway.product.rest.dto.BatchItemResponse;
+import io.github.mm.flyway.product.rest.dto.BatchResponse;
+import io.github.mm.flyway.product.rest.dto.ImportResponse;
+import io.github.mm.flyway.product.rest.dto.ProductBatchRequest;
 import io.github.mm.flyway.product.rest.dto.ProductRequest;
 import io.github.mm.flyway.product.rest.dto.ProductResponse;
+import io.github.mm.flyway.product.rest.dto.ProductStatsResponse;
 import io.github.mm.flyway.product.rest.dto.ScrollResponse;
 import io.github.mm.flyway.product.rest.dto.SliceMetadata;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.jspecify.annotations.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -17,8 +33,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class ProductMapper {
 
-    public PagedModel<@NonNull ProductResponse> toPageModel(Pageable pageable, Page<@NonNull Product> page) {
-        var items = page.stream().map(this::toResponse).toList();
+    public static final String CSV_HEADER =
+            "id,name,description,price,stock_quantity,sku,category,status,created_at,updated_at";
+
+    public PagedModel<@NonNull ProductResponse> toPageModel(
+            Pageable pageable, Page<@NonNull Product> page, Map<Long, List<String>> tags) {
+        var items = page.stream().map(product -> toResponse(product, tags)).toList();
 
         return new PagedModel<>(PageableExecutionUtils.getPage(items, pageable, page::getTotalElements));
     }
@@ -27,6 +47,18 @@ public class ProductMapper {
         if (product == null) {
             return null;
         }
+        return toResponse(product, (List<String>) null);
+    }
+
+    public ProductResponse toResponse(Product product, Map<Long, List<String>> tags) {
+        if (product == null) {
+            return null;
+        }
+        return toResponse(product, tags.getOrDefault(product.id(), List.of()));
+    }
+
+    // tags stay null (and are omitted from the JSON) where they were not loaded
+    private ProductResponse toResponse(Product product, List<String> tags) {
         return new ProductResponse(
                 product.id(),
                 product.name(),
@@ -37,7 +69,9 @@ public class ProductMapper {
                 product.category(),
                 product.status(),
                 product.createdAt(),
-                product.updatedAt());
+                product.updatedAt(),
+                product.version(),
+                tags);
     }
 
     public Product toEntity(ProductRequest request) {
@@ -56,6 +90,7 @@ public class ProductMapper {
                 null,
                 null,
                 null,
+                null,
                 null);
     }
 
@@ -75,17 +110,104 @@ public class ProductMapper {
                 null,
                 null,
                 null,
-                null);
+                null,
+                request.version());
     }
 
     private static ProductStatus mapStatus(ProductRequest request) {
         return request.status() != null ? request.status() : ProductStatus.ACTIVE;
     }
 
-    public ScrollResponse<ProductResponse> toScrollResponse(Slice<@NonNull Product> slice) {
-        var items = slice.getContent().stream().map(this::toResponse).toList();
-        var nextCursor = slice.hasNext() ? String.valueOf(items.getLast().id()) : null;
+    public BatchItem toBatchItem(int index, ProductBatchRequest request) {
+        if (request == null) {
+            return BatchItem.rejected(index, "Item must not be null");
+        }
+        return BatchItem.of(
+                index,
+                new Product(
+                        request.id(),
+                        request.name(),
+                        request.description(),
+                        request.price(),
+                        request.stockQuantity(),
+                        request.sku(),
+                        request.category(),
+                        request.status() != null ? request.status() : ProductStatus.ACTIVE,
+                        null,
+                        null,
+                        null,
+                        null,
+                        request.version()));
+    }
+
+    public BatchResponse toBatchResponse(List<BatchItemResult> results) {
+        var items = results.stream()
+                .map(result -> new BatchItemResponse(result.index(), result.id(), result.status(), result.error()))
+                .toList();
+        var succeeded = (int) results.stream().filter(BatchItemResult::isSuccessful).count();
+        return new BatchResponse(items.size(), succeeded, items.size() - succeeded, items);
+    }
+
+    public ImportResponse toImportResponse(ImportResult result) {
+        return new ImportResponse(result.rows(), result.elapsed().toMillis(), result.rowsPerSecond());
+    }
+
+    public String toCsvRow(Product product) {
+        return Stream.of(
+                        product.id(),
+                        product.name(),
+                        product.description(),
+                        product.price(),
+                        product.stockQuantity(),
+                        product.sku(),
+                        product.category(),
+                        product.status(),
+                        product.createdAt(),
+                        product.updatedAt())
+                .map(ProductMapper::csvValue)
+                .collect(Collectors.joining(","));
+    }
+
+    public ScrollResponse<ProductResponse> toScrollResponse(
+            Slice<@NonNull Product> slice, Map<Long, List<String>> tags) {
+        var items = slice.getContent().stream().map(product -> toResponse(product, tags)).toList();
+        var nextCursor = slice.hasNext()
+                ? ProductKeyset.of(slice.getSort())
+                        .after(slice.getContent().getLast())
+                        .encode()
+                : null;
         var sliceMetadata = new SliceMetadata(slice.hasNext(), nextCursor, slice.getSize());
         return new ScrollResponse<>(items, sliceMetadata);
     }
+
+    public ScrollResponse<ProductResponse> toSearchResponse(
+            Slice<@NonNull ProductSearchHit> slice, Map<Long, List<String>> tags) {
+        var items = slice.getContent().stream().map(hit -> toResponse(hit.product(), tags)).toList();
+        var nextCursor = slice.hasNext() ? ProductSearch.cursorAfter(slice.getContent().getLast()) : null;
+        return new ScrollResponse<>(items, new SliceMetadata(slice.hasNext(), nextCursor, slice.getSize()));
+    }
+
+    public ProductStatsResponse toStatsResponse(ProductStats stats) {
+        return new ProductStatsResponse(
+                stats.byCategory().stream().map(ProductMapper::toStatsGroup).toList(),
+                stats.byStatus().stream().map(ProductMapper::toStatsGroup).toList(),
+                toStatsGroup(stats.total()),
+                stats.computedAt());
+    }
+
+    private static ProductStatsResponse.Group toStatsGroup(ProductStats.Group group) {
+        return new ProductStatsResponse.Group(
+                group.key(), group.count(), group.stockValue(), group.minPrice(), group.maxPrice());
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        var text = String.valueOf(value);
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
 }
@@ -0,0 +1,67 @@
+package io.github.mm.flyway.product.internal;
+
+import io.github.mm.flyway.infrastructure.SystemClock;
+import io.github.mm.flyway.product.internal.config.ProductProperties;
+import io.github.mm.flyway.product.repository.ProductRepository;
+import java.time.Duration;
+import java.time.Instant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProductPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductPurger.class);
+
+    private final ProductRepository repository;
+    private final SystemClock clock;
+    private final ProductProperties.Purge properties;
+
+    public ProductPurger(ProductRepository repository, SystemClock clock, ProductProperties properties) {
+        this.repository = repository;
+        this.clock = clock;
+        this.properties = properties.purge();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${mm.products.purge.interval}",
+            initialDelayString = "${mm.products.purge.interval}")
+    public void purge() {
+        var purged = purgeDeletedBefore(clock.now().minus(properties.retention()));
+        if (purged > 0) {
+            log.info("Purged {} soft-deleted products", purged);
+        }
+    }
+
+    // each batch commits on its own, and batches are paced to rows-per-second, so a mass delete is purged without
+    // long lock holds or a burst of WAL and autovacuum work
+    public long purgeDeletedBefore(Instant deletedBefore) {
+        var batchTime = Duration.ofMillis(1000L * properties.batchSize() / properties.rowsPerSecond());
+        long purged = 0;
+        int deleted;
+        do {
+            var started = System.nanoTime();
+            deleted = repository.purgeDeleted(deletedBefore, properties.batchSize());
+            purged += deleted;
+            if (deleted == properties.batchSize() && !pause(batchTime.minusNanos(System.nanoTime() - started))) {
+                break;
+            }
+        } while (deleted == properties.batchSize());
+        return purged;
+    }
+
+    private static boolean pause(Duration duration) {
+        if (duration.isNegative()) {
+            return true;
+        }
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // shutting down, the rest waits for the next run
+            return false;
+        }
+    }
+}
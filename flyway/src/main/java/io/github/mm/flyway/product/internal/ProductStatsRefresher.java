@@ -0,0 +1,29 @@
+package io.github.mm.flyway.product.internal;
+
+import io.github.mm.flyway.product.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProductStatsRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductStatsRefresher.class);
+
+    private final ProductRepository repository;
+
+    public ProductStatsRefresher(ProductRepository repository) {
+        this.repository = repository;
+    }
+
+    // fixed delay, so a slow refresh never overlaps the next one on this instance
+    @Scheduled(
+            fixedDelayString = "${mm.products.stats.refresh-interval}",
+            initialDelayString = "${mm.products.stats.refresh-interval}")
+    public void refresh() {
+        var started = System.nanoTime();
+        repository.refreshStatsSnapshot();
+        log.debug("Refreshed product_stats in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+}
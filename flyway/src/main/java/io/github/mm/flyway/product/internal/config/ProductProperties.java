@@ -0,0 +1,20 @@
+package io.github.mm.flyway.product.internal.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "mm.products")
+public record ProductProperties(Count count, Batch batch, Export export, Cache cache, Purge purge, Outbox outbox) {
+
+    public record Count(Duration cacheTtl) {}
+
+    public record Batch(int chunkSize) {}
+
+    public record Export(int fetchSize) {}
+
+    public record Cache(int maxSize, Duration ttl) {}
+
+    public record Purge(Duration retention, int batchSize, int rowsPerSecond) {}
+
+    public record Outbox(int batchSize) {}
+}
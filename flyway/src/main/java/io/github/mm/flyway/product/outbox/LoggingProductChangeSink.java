@@ -0,0 +1,17 @@
+package io.github.mm.flyway.product.outbox;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// used by ProductOutboxRelay when no ProductChangeSink bean is defined
+class LoggingProductChangeSink implements ProductChangeSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingProductChangeSink.class);
+
+    @Override
+    public void publish(List<ProductChange> changes) {
+        changes.forEach(change -> log.debug(
+                "Product {} {} (sequence {})", change.productId(), change.type(), change.sequence()));
+    }
+}
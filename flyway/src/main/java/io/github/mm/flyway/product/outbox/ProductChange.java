@@ -0,0 +1,8 @@
+package io.github.mm.flyway.product.outbox;
+
+import java.time.Instant;
+
+// payload is the product as JSON at the time of the change: the ProductResponse fields without tags, plus deletedAt,
+// which a DELETED change carries
+public record ProductChange(
+        long sequence, Long productId, ProductChangeType type, String payload, Instant occurredAt) {}
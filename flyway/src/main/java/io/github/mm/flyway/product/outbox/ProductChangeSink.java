@@ -0,0 +1,11 @@
+package io.github.mm.flyway.product.outbox;
+
+import java.util.List;
+
+// Where relayed changes go, e.g. a message broker, a search indexer or a cache tier. Changes arrive in sequence
+// order, so changes to the same product arrive in the order they were committed. Throwing rolls the batch back
+// and it is delivered again, so implementations must tolerate duplicates.
+public interface ProductChangeSink {
+
+    void publish(List<ProductChange> changes);
+}
@@ -0,0 +1,7 @@
+package io.github.mm.flyway.product.outbox;
+
+public enum ProductChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
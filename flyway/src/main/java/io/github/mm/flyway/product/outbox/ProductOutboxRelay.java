@@ -0,0 +1,70 @@
+package io.github.mm.flyway.product.outbox;
+
+import io.github.mm.flyway.product.internal.config.ProductProperties;
+import io.github.mm.flyway.product.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class ProductOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductOutboxRelay.class);
+
+    private final ProductRepository repository;
+    private final ProductChangeSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ProductOutboxRelay(
+            ProductRepository repository,
+            ObjectProvider<ProductChangeSink> sinks,
+            TransactionTemplate transactionTemplate,
+            ProductProperties properties) {
+        this.repository = repository;
+        this.sink = sinks.getIfUnique(LoggingProductChangeSink::new); // logs until a sink bean is defined
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = properties.outbox().batchSize();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${mm.products.outbox.poll-interval}",
+            initialDelayString = "${mm.products.outbox.poll-interval}")
+    public void poll() {
+        var relayed = relayPending();
+        if (relayed > 0) {
+            log.debug("Relayed {} product changes", relayed);
+        }
+    }
+
+    public long relayPending() {
+        long relayed = 0;
+        int batch;
+        do {
+            batch = relayBatch();
+            relayed += batch;
+        } while (batch == batchSize);
+        return relayed;
+    }
+
+    // One relay at a time across all instances, so batches leave in sequence order; a second instance skips the
+    // run instead of waiting. The events are deleted in the same transaction that published them: if the sink
+    // throws, the batch rolls back and is published again on the next run.
+    private int relayBatch() {
+        return transactionTemplate.execute(transaction -> {
+            if (!repository.tryLockOutbox()) {
+                return 0;
+            }
+            var changes = repository.findPendingChanges(batchSize);
+            if (changes.isEmpty()) {
+                return 0;
+            }
+            sink.publish(changes);
+            repository.deleteChanges(changes.stream().map(ProductChange::sequence).toList());
+            return changes.size();
+        });
+    }
+}
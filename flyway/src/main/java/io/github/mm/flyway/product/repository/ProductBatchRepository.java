@@ -0,0 +1,13 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.Product;
+import java.util.List;
+import org.jspecify.annotations.NonNull;
+
+public interface ProductBatchRepository {
+
+    List<@NonNull Product> insertAll(List<Product> products);
+
+    // per product, 0 when the row is missing or its version is stale
+    int[] updateAll(List<Product> products);
+}
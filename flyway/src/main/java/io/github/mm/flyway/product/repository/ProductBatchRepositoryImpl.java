@@ -0,0 +1,50 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.Product;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.jspecify.annotations.NonNull;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+class ProductBatchRepositoryImpl implements ProductBatchRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO products (name, description, price, stock_quantity, sku, category, status,
+                                  created_at, updated_at, created_by, updated_by)
+            VALUES (:name, :description, :price, :stockQuantity, :sku, :category, :status,
+                    :createdAt, :updatedAt, :createdBy, :updatedBy)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    ProductBatchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<@NonNull Product> insertAll(List<Product> products) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+        var keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_SQL, parameters(products), keyHolder, "id");
+        var keys = keyHolder.getKeyList();
+        return IntStream.range(0, products.size())
+                .mapToObj(i -> products.get(i).withId(((Number) keys.get(i).get("id")).longValue()))
+                .toList();
+    }
+
+    @Override
+    public int[] updateAll(List<Product> products) {
+        if (products.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(ProductUpdateRepositoryImpl.UPDATE_SQL, parameters(products));
+    }
+
+    private static SqlParameterSource[] parameters(List<Product> products) {
+        return products.stream().map(ProductParameters::of).toArray(SqlParameterSource[]::new);
+    }
+}
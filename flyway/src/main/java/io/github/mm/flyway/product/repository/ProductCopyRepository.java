@@ -0,0 +1,11 @@
+package io.github.mm.flyway.product.repository;
+
+import java.io.Reader;
+import java.time.Instant;
+
+public interface ProductCopyRepository {
+
+    long copyCsv(Reader csv, boolean header, Instant now, String username);
+
+    long copyNdjson(Reader ndjson, Instant now, String username);
+}
@@ -0,0 +1,180 @@
+package io.github.mm.flyway.product.repository;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+class ProductCopyRepositoryImpl implements ProductCopyRepository {
+
+    private static final String COPY_SQL = """
+            COPY products (name, description, price, stock_quantity, sku, category, status,
+                           created_at, updated_at, created_by, updated_by)
+            FROM STDIN WITH (FORMAT csv, HEADER %s)""";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+
+    private final DataSource dataSource;
+    private final JsonMapper jsonMapper;
+    private final SQLStateSQLExceptionTranslator exceptionTranslator = new SQLStateSQLExceptionTranslator();
+
+    ProductCopyRepositoryImpl(DataSource dataSource, JsonMapper jsonMapper) {
+        this.dataSource = dataSource;
+        this.jsonMapper = jsonMapper;
+    }
+
+    // CSV records are forwarded verbatim; only the audit columns are appended to each one
+    @Override
+    public long copyCsv(Reader csv, boolean header, Instant now, String username) {
+        var auditColumns = auditColumns(now, username);
+        return copy(COPY_SQL.formatted(header), writer -> {
+            var input = new BufferedReader(csv, BUFFER_SIZE);
+            var record = new StringBuilder();
+            var quoted = false;
+            int c;
+            while ((c = input.read()) != -1) {
+                if (c == '"') {
+                    quoted = !quoted; // an escaped "" flips twice
+                }
+                if (c == '\n' && !quoted) {
+                    writeRecord(writer, record, auditColumns);
+                    record.setLength(0);
+                } else {
+                    record.append((char) c);
+                }
+            }
+            writeRecord(writer, record, auditColumns);
+        });
+    }
+
+    @Override
+    public long copyNdjson(Reader ndjson, Instant now, String username) {
+        var auditColumns = auditColumns(now, username);
+        return copy(COPY_SQL.formatted(false), writer -> {
+            var input = new BufferedReader(ndjson, BUFFER_SIZE);
+            var lineNumber = 0;
+            String line;
+            while ((line = input.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                writer.write(toCsv(parse(line, lineNumber)));
+                writer.write(auditColumns);
+                writer.write('\n');
+            }
+        });
+    }
+
+    private long copy(String sql, CopyBody body) {
+        var connection = DataSourceUtils.getConnection(dataSource);
+        PGCopyOutputStream out = null;
+        try {
+            out = new PGCopyOutputStream(connection.unwrap(PGConnection.class), sql, BUFFER_SIZE);
+            var writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8), BUFFER_SIZE);
+            body.writeTo(writer);
+            writer.flush();
+            return out.endCopy();
+        } catch (SQLException e) {
+            throw translate(sql, e);
+        } catch (IOException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw translate(sql, sqlException);
+            }
+            throw new UncheckedIOException(e);
+        } finally {
+            cancelIfActive(out);
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private Map<String, Object> parse(String line, int lineNumber) {
+        try {
+            return jsonMapper.readValue(line, JSON_OBJECT);
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Malformed JSON on line " + lineNumber + ": " + e.getOriginalMessage());
+        }
+    }
+
+    // same defaults as ProductMapper applies to API requests
+    private static String toCsv(Map<String, Object> json) {
+        return Stream.of(
+                        json.get("name"),
+                        json.get("description"),
+                        json.get("price"),
+                        Objects.requireNonNullElse(json.get("stockQuantity"), 0),
+                        json.get("sku"),
+                        json.get("category"),
+                        Objects.requireNonNullElse(json.get("status"), "ACTIVE"))
+                .map(ProductCopyRepositoryImpl::csvValue)
+                .collect(Collectors.joining(","));
+    }
+
+    private static String auditColumns(Instant now, String username) {
+        var timestamp = csvValue(Timestamp.from(now));
+        var user = csvValue(username);
+        return "," + timestamp + "," + timestamp + "," + user + "," + user;
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return ""; // unquoted empty field is NULL in CSV format
+        }
+        return '"' + String.valueOf(value).replace("\"", "\"\"") + '"';
+    }
+
+    private static void writeRecord(Writer writer, StringBuilder record, String auditColumns) throws IOException {
+        var length = record.length();
+        if (length > 0 && record.charAt(length - 1) == '\r') {
+            record.setLength(length - 1);
+        }
+        if (record.isEmpty()) {
+            return;
+        }
+        writer.append(record).append(auditColumns).append('\n');
+    }
+
+    private DataAccessException translate(String sql, SQLException e) {
+        var translated = exceptionTranslator.translate("COPY products", sql, e);
+        return translated != null ? translated : new UncategorizedSQLException("COPY products", sql, e);
+    }
+
+    private static void cancelIfActive(PGCopyOutputStream out) {
+        if (out == null || !out.isActive()) {
+            return;
+        }
+        try {
+            out.cancelCopy();
+        } catch (SQLException ignored) {
+            // the surrounding transaction is rolled back anyway
+        }
+    }
+
+    @FunctionalInterface
+    private interface CopyBody {
+        void writeTo(Writer writer) throws IOException;
+    }
+}
@@ -0,0 +1,10 @@
+package io.github.mm.flyway.product.repository;
+
+import java.time.Instant;
+
+public interface ProductDeleteRepository {
+
+    boolean softDeleteById(Long id, Instant deletedAt);
+
+    int purgeDeleted(Instant deletedBefore, int batchSize);
+}
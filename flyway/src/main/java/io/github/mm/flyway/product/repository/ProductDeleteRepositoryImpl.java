@@ -0,0 +1,46 @@
+package io.github.mm.flyway.product.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+class ProductDeleteRepositoryImpl implements ProductDeleteRepository {
+
+    // a single-row update; product_tags and the index entries stay until the purge
+    private static final String SOFT_DELETE_SQL = "UPDATE active_products SET deleted_at = :deletedAt WHERE id = :id";
+
+    // oldest first from idx_products_deleted_at; SKIP LOCKED lets purgers on several instances share the work
+    private static final String PURGE_SQL = """
+            DELETE FROM products
+            WHERE id IN (SELECT id
+                         FROM products
+                         WHERE deleted_at < :deletedBefore
+                         ORDER BY deleted_at
+                         LIMIT :batchSize
+                         FOR UPDATE SKIP LOCKED)""";
+
+    private final JdbcClient jdbcClient;
+
+    ProductDeleteRepositoryImpl(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public boolean softDeleteById(Long id, Instant deletedAt) {
+        return jdbcClient
+                        .sql(SOFT_DELETE_SQL)
+                        .param("id", id)
+                        .param("deletedAt", Timestamp.from(deletedAt))
+                        .update()
+                > 0;
+    }
+
+    @Override
+    public int purgeDeleted(Instant deletedBefore, int batchSize) {
+        return jdbcClient
+                .sql(PURGE_SQL)
+                .param("deletedBefore", Timestamp.from(deletedBefore))
+                .param("batchSize", batchSize)
+                .update();
+    }
+}
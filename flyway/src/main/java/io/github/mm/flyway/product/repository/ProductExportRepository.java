@@ -0,0 +1,9 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.Product;
+import java.util.stream.Stream;
+
+public interface ProductExportRepository {
+
+    Stream<Product> streamAll(int fetchSize);
+}
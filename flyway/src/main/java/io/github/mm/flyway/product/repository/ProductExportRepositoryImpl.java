@@ -0,0 +1,28 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.Product;
+import java.util.stream.Stream;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class ProductExportRepositoryImpl implements ProductExportRepository {
+
+    private static final String EXPORT_SQL = "SELECT * FROM active_products ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    ProductExportRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // PgJDBC only honours the fetch size inside a transaction; otherwise it buffers the whole result set
+    @Override
+    public Stream<Product> streamAll(int fetchSize) {
+        return jdbcTemplate.queryForStream(
+                connection -> {
+                    var statement = connection.prepareStatement(EXPORT_SQL);
+                    statement.setFetchSize(fetchSize);
+                    return statement;
+                },
+                ProductRowMapper.INSTANCE);
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.mm.flyway.product.repository;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import io.github.mm.flyway.product.domain.Product;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.springframework.data.domain.Sort;
+
+public record ProductKeyset(List<ProductSortKey> keys, Sort.Direction direction, List<Object> values) {
+
+    private static final String SEPARATOR = "|";
+    private static final Pattern LEGACY_ID_CURSOR = Pattern.compile("\\d+");
+
+    public ProductKeyset {
+        keys = List.copyOf(keys);
+        values = List.copyOf(values);
+    }
+
+    public static ProductKeyset of(Sort sort) {
+        var orders = sort.isSorted() ? sort.toList() : List.of(Sort.Order.asc(ProductSortKey.ID.property()));
+        var direction = orders.getFirst().getDirection();
+        if (orders.stream().anyMatch(order -> order.getDirection() != direction)) {
+            throw new IllegalArgumentException("All scroll sort orders must use the same direction");
+        }
+        var keys = new ArrayList<ProductSortKey>();
+        orders.stream()
+                .map(order -> ProductSortKey.fromProperty(order.getProperty()))
+                .filter(key -> key != ProductSortKey.ID)
+                .distinct()
+                .forEach(keys::add);
+        keys.add(ProductSortKey.ID); // unique tiebreaker keeps the keyset total
+        return new ProductKeyset(keys, direction, List.of());
+    }
+
+    public ProductKeyset after(Product product) {
+        return new ProductKeyset(
+                keys, direction, keys.stream().map(key -> key.valueOf(product)).toList());
+    }
+
+    public boolean isFirstPage() {
+        return values.isEmpty();
+    }
+
+    public Sort sort() {
+        return Sort.by(keys.stream()
+                .map(key -> new Sort.Order(direction, key.property()))
+                .toList());
+    }
+
+    public String encode() {
+        var parts = new ArrayList<String>();
+        parts.add(direction.name());
+        parts.add(keys.stream().map(ProductSortKey::property).collect(Collectors.joining(",")));
+        values.forEach(value -> parts.add(URLEncoder.encode(String.valueOf(value), UTF_8)));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.join(SEPARATOR, parts).getBytes(UTF_8));
+    }
+
+    public static ProductKeyset decode(String cursor) {
+        if (LEGACY_ID_CURSOR.matcher(cursor).matches()) { // plain last-id cursors issued before keyset support
+            return new ProductKeyset(List.of(ProductSortKey.ID), Sort.Direction.ASC, List.of(Long.valueOf(cursor)));
+        }
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(cursor), UTF_8).split(Pattern.quote(SEPARATOR), -1);
+            var direction = Sort.Direction.valueOf(parts[0]);
+            var keys = Arrays.stream(parts[1].split(","))
+                    .map(ProductSortKey::fromProperty)
+                    .toList();
+            if (parts.length != keys.size() + 2 || keys.getLast() != ProductSortKey.ID) {
+                throw new IllegalArgumentException("Cursor does not match its sort keys");
+            }
+            var values = IntStream.range(0, keys.size())
+                    .mapToObj(i -> keys.get(i).parse(URLDecoder.decode(parts[i + 2], UTF_8)))
+                    .toList();
+            return new ProductKeyset(keys, direction, values);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor format: " + cursor, e);
+        }
+    }
+}
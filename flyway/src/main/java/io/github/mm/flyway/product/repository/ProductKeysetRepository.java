@@ -0,0 +1,10 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.Product;
+import org.jspecify.annotations.NonNull;
+import org.springframework.data.domain.Slice;
+
+public interface ProductKeysetRepository {
+
+    Slice<@NonNull Product> scroll(ProductKeyset keyset, int size);
+}
@@ -0,0 +1,56 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.Product;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.jspecify.annotations.NonNull;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+class ProductKeysetRepositoryImpl implements ProductKeysetRepository {
+
+    private final JdbcClient jdbcClient;
+
+    ProductKeysetRepositoryImpl(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public Slice<@NonNull Product> scroll(ProductKeyset keyset, int size) {
+        var statement = jdbcClient.sql(scrollSql(keyset)).param("limit", size + 1);
+        for (int i = 0; i < keyset.values().size(); i++) {
+            statement = statement.param("k" + i, keyset.keys().get(i).toJdbcValue(keyset.values().get(i)));
+        }
+        var rows = statement.query(ProductRowMapper.INSTANCE).list();
+
+        var hasNext = rows.size() > size; // one extra row tells us whether another page exists
+        var content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, size, keyset.sort()), hasNext);
+    }
+
+    // (c1, ..., id) > (:k0, ..., :kn) lets PostgreSQL seek the matching (c1, id) index instead of skipping OFFSET rows
+    private static String scrollSql(ProductKeyset keyset) {
+        var columns = keyset.keys().stream().map(ProductSortKey::column).toList();
+        var ascending = keyset.direction().isAscending();
+
+        var sql = new StringBuilder("SELECT * FROM active_products");
+        if (!keyset.isFirstPage()) {
+            var params = IntStream.range(0, columns.size())
+                    .mapToObj(i -> ":k" + i)
+                    .collect(Collectors.joining(", "));
+            sql.append(" WHERE (")
+                    .append(String.join(", ", columns))
+                    .append(ascending ? ") > (" : ") < (")
+                    .append(params)
+                    .append(")");
+        }
+        sql.append(" ORDER BY ")
+                .append(columns.stream()
+                        .map(column -> column + (ascending ? " ASC" : " DESC"))
+                        .collect(Collectors.joining(", ")))
+                .append(" LIMIT :limit");
+        return sql.toString();
+    }
+}
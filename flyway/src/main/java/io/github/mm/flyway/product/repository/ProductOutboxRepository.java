@@ -0,0 +1,22 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.outbox.ProductChange;
+import io.github.mm.flyway.product.outbox.ProductChangeType;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.jspecify.annotations.NonNull;
+
+public interface ProductOutboxRepository {
+
+    void recordChanges(Collection<Long> productIds, ProductChangeType type, Instant occurredAt);
+
+    // records a CREATED change for every product this transaction inserted with the given created_at
+    void recordImported(Instant importedAt);
+
+    boolean tryLockOutbox();
+
+    List<@NonNull ProductChange> findPendingChanges(int limit);
+
+    void deleteChanges(Collection<Long> sequences);
+}
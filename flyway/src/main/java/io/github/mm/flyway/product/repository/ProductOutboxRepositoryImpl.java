@@ -0,0 +1,113 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.outbox.ProductChange;
+import io.github.mm.flyway.product.outbox.ProductChangeType;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.jspecify.annotations.NonNull;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+class ProductOutboxRepositoryImpl implements ProductOutboxRepository {
+
+    // the published contract: the ProductResponse fields plus deletedAt, so a column added to the table does not
+    // leak into events until it is listed here
+    private static final String PAYLOAD = """
+            jsonb_build_object(
+                'id', p.id,
+                'name', p.name,
+                'description', p.description,
+                'price', p.price,
+                'stockQuantity', p.stock_quantity,
+                'sku', p.sku,
+                'category', p.category,
+                'status', p.status,
+                'createdAt', p.created_at,
+                'updatedAt', p.updated_at,
+                'version', p.version,
+                'deletedAt', p.deleted_at)""";
+
+    // the payload is read from the row this transaction just wrote, so it matches what is committed. Outbox ids
+    // follow commit order per product: a second writer waits on the product row lock before it gets here.
+    private static final String RECORD_SQL = """
+            INSERT INTO product_outbox (product_id, change_type, payload, occurred_at)
+            SELECT p.id, :type, %s, :occurredAt
+            FROM products p
+            WHERE p.id = ANY(:ids)
+            ORDER BY p.id""".formatted(PAYLOAD);
+
+    // COPY returns no ids. The imported rows share the import's created_at, which idx_products_created_at_id finds,
+    // and carry this transaction's id in xmin, which tells them apart from rows other transactions created at the
+    // same instant. xmin holds the low 32 bits of the 64-bit transaction id.
+    private static final String RECORD_IMPORTED_SQL = """
+            INSERT INTO product_outbox (product_id, change_type, payload, occurred_at)
+            SELECT p.id, 'CREATED', %s, :occurredAt
+            FROM products p
+            WHERE p.created_at = :occurredAt
+              AND p.xmin::TEXT::BIGINT = pg_current_xact_id()::TEXT::BIGINT %% 4294967296
+            ORDER BY p.id""".formatted(PAYLOAD);
+
+    // keyed by the table's oid, so it cannot collide with another advisory lock; released at commit
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock('product_outbox'::REGCLASS::BIGINT)";
+
+    private static final String PENDING_SQL = """
+            SELECT id, product_id, change_type, payload, occurred_at
+            FROM product_outbox
+            ORDER BY id
+            LIMIT :limit""";
+
+    private final JdbcClient jdbcClient;
+
+    ProductOutboxRepositoryImpl(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public void recordChanges(Collection<Long> productIds, ProductChangeType type, Instant occurredAt) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        jdbcClient
+                .sql(RECORD_SQL)
+                .param("ids", productIds.toArray(Long[]::new))
+                .param("type", type.name())
+                .param("occurredAt", Timestamp.from(occurredAt))
+                .update();
+    }
+
+    @Override
+    public void recordImported(Instant importedAt) {
+        jdbcClient
+                .sql(RECORD_IMPORTED_SQL)
+                .param("occurredAt", Timestamp.from(importedAt))
+                .update();
+    }
+
+    @Override
+    public boolean tryLockOutbox() {
+        return jdbcClient.sql(TRY_LOCK_SQL).query(Boolean.class).single();
+    }
+
+    @Override
+    public List<@NonNull ProductChange> findPendingChanges(int limit) {
+        return jdbcClient
+                .sql(PENDING_SQL)
+                .param("limit", limit)
+                .query((rs, rowNum) -> new ProductChange(
+                        rs.getLong("id"),
+                        rs.getLong("product_id"),
+                        ProductChangeType.valueOf(rs.getString("change_type")),
+                        rs.getString("payload"),
+                        rs.getTimestamp("occurred_at").toInstant()))
+                .list();
+    }
+
+    @Override
+    public void deleteChanges(Collection<Long> sequences) {
+        jdbcClient
+                .sql("DELETE FROM product_outbox WHERE id = ANY(:ids)")
+                .param("ids", sequences.toArray(Long[]::new))
+                .update();
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.Product;
+import java.util.List;
+import org.jspecify.annotations.NonNull;
+import org.springframework.data.domain.Pageable;
+
+public interface ProductPagingRepository {
+
+    List<@NonNull Product> findPageContent(Pageable pageable);
+
+    long estimateCount();
+}
@@ -0,0 +1,38 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.Product;
+import java.util.List;
+import org.jspecify.annotations.NonNull;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jdbc.core.JdbcAggregateOperations;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+class ProductPagingRepositoryImpl implements ProductPagingRepository {
+
+    private final JdbcAggregateOperations aggregateOperations;
+    private final JdbcClient jdbcClient;
+
+    ProductPagingRepositoryImpl(JdbcAggregateOperations aggregateOperations, JdbcClient jdbcClient) {
+        this.aggregateOperations = aggregateOperations;
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public List<@NonNull Product> findPageContent(Pageable pageable) {
+        return aggregateOperations.findAll(Query.empty().with(pageable), Product.class);
+    }
+
+    @Override
+    public long estimateCount() {
+        // planner statistics maintained by ANALYZE/autovacuum; -1 means the table was never analyzed
+        var estimate = jdbcClient.sql("SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass('products')")
+                .query(Long.class)
+                .optional()
+                .orElse(-1L);
+        if (estimate < 0) {
+            return jdbcClient.sql("SELECT count(*) FROM active_products").query(Long.class).single();
+        }
+        return estimate;
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.Product;
+import java.sql.Timestamp;
+import java.time.Instant;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+final class ProductParameters {
+
+    private ProductParameters() {}
+
+    static MapSqlParameterSource of(Product product) {
+        return new MapSqlParameterSource()
+                .addValue("id", product.id())
+                .addValue("name", product.name())
+                .addValue("description", product.description())
+                .addValue("price", product.price())
+                .addValue("stockQuantity", product.stockQuantity() != null ? product.stockQuantity() : 0)
+                .addValue("sku", product.sku())
+                .addValue("category", product.category() != null ? product.category().name() : null)
+                .addValue("status", product.status().name())
+                .addValue("createdAt", toTimestamp(product.createdAt()))
+                .addValue("updatedAt", toTimestamp(product.updatedAt()))
+                .addValue("createdBy", product.createdBy())
+                .addValue("updatedBy", product.updatedBy())
+                .addValue("version", product.version());
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+}
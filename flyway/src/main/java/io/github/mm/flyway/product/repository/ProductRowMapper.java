@@ -0,0 +1,40 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.Product;
+import io.github.mm.flyway.product.domain.ProductCategory;
+import io.github.mm.flyway.product.domain.ProductStatus;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import org.springframework.jdbc.core.RowMapper;
+
+final class ProductRowMapper implements RowMapper<Product> {
+
+    static final ProductRowMapper INSTANCE = new ProductRowMapper();
+
+    private ProductRowMapper() {}
+
+    @Override
+    public Product mapRow(ResultSet rs, int rowNum) throws SQLException {
+        var category = rs.getString("category");
+        return new Product(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getString("description"),
+                rs.getBigDecimal("price"),
+                rs.getInt("stock_quantity"),
+                rs.getString("sku"),
+                category != null ? ProductCategory.valueOf(category) : null,
+                ProductStatus.valueOf(rs.getString("status")),
+                toInstant(rs.getTimestamp("created_at")),
+                toInstant(rs.getTimestamp("updated_at")),
+                rs.getString("created_by"),
+                rs.getString("updated_by"),
+                rs.getLong("version"));
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+}
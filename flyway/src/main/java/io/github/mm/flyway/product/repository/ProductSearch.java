@@ -0,0 +1,50 @@
+package io.github.mm.flyway.product.repository;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import io.github.mm.flyway.product.domain.ProductSearchHit;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public record ProductSearch(String tsQuery, Float rank, Long id) {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String SEPARATOR = "|";
+
+    // every word must match, each as a prefix, so "wire key" finds "Wireless Keyboard"
+    public static ProductSearch of(String text) {
+        var terms = Arrays.stream(NON_WORD.split(text == null ? "" : text.toLowerCase()))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one word");
+        }
+        return new ProductSearch(terms, null, null);
+    }
+
+    public static ProductSearch of(String text, String cursor) {
+        var search = of(text);
+        if (cursor == null || cursor.isEmpty()) {
+            return search;
+        }
+        try {
+            var parts = new String(Base64.getUrlDecoder().decode(cursor), UTF_8).split(Pattern.quote(SEPARATOR));
+            return new ProductSearch(search.tsQuery(), Float.valueOf(parts[0]), Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor format: " + cursor, e);
+        }
+    }
+
+    public boolean isFirstPage() {
+        return id == null;
+    }
+
+    // Float.toString round-trips exactly, so the next page resumes precisely after the last hit
+    public static String cursorAfter(ProductSearchHit hit) {
+        var cursor = hit.rank() + SEPARATOR + hit.product().id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(UTF_8));
+    }
+}
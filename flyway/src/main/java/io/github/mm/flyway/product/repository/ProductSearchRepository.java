@@ -0,0 +1,10 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.ProductSearchHit;
+import org.jspecify.annotations.NonNull;
+import org.springframework.data.domain.Slice;
+
+public interface ProductSearchRepository {
+
+    Slice<@NonNull ProductSearchHit> search(ProductSearch search, int size);
+}
@@ -0,0 +1,54 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.ProductSearchHit;
+import org.jspecify.annotations.NonNull;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+class ProductSearchRepositoryImpl implements ProductSearchRepository {
+
+    // the expression of idx_products_search (V7.3); it must stay identical, or the planner cannot use the index
+    static final String SEARCH_VECTOR = """
+            (setweight(to_tsvector('english', coalesce(p.name, '')), 'A') ||
+             setweight(to_tsvector('english', coalesce(p.description, '')), 'B'))""";
+
+    // the @@ match is served by the GIN index; only matching rows are ranked
+    static final String SEARCH_SQL = """
+            SELECT *
+            FROM (SELECT p.*, ts_rank(%1$s, q.query) AS rank
+                  FROM active_products p,
+                       to_tsquery('english', :query) AS q(query)
+                  WHERE %1$s @@ q.query) ranked
+            %2$s
+            ORDER BY rank DESC, id
+            LIMIT :limit""";
+
+    private static final String AFTER_CURSOR = "WHERE rank < :rank OR (rank = :rank AND id > :id)";
+
+    private final JdbcClient jdbcClient;
+
+    ProductSearchRepositoryImpl(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public Slice<@NonNull ProductSearchHit> search(ProductSearch search, int size) {
+        var statement = jdbcClient
+                .sql(SEARCH_SQL.formatted(SEARCH_VECTOR, search.isFirstPage() ? "" : AFTER_CURSOR))
+                .param("query", search.tsQuery())
+                .param("limit", size + 1);
+        if (!search.isFirstPage()) {
+            statement = statement.param("rank", search.rank()).param("id", search.id());
+        }
+        var rows = statement
+                .query((rs, rowNum) -> new ProductSearchHit(
+                        ProductRowMapper.INSTANCE.mapRow(rs, rowNum), rs.getFloat("rank")))
+                .list();
+
+        var hasNext = rows.size() > size;
+        var content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.ofSize(size), hasNext);
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.Product;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.Function;
+
+public enum ProductSortKey {
+    // each key is backed by a (column, id) index, see V7.1
+    ID("id", "id", Product::id, Long::valueOf),
+    NAME("name", "name", Product::name, value -> value),
+    PRICE("price", "price", Product::price, BigDecimal::new),
+    CREATED_AT("createdAt", "created_at", Product::createdAt, Instant::parse);
+
+    private final String property;
+    private final String column;
+    private final Function<Product, Object> extractor;
+    private final Function<String, Object> parser;
+
+    ProductSortKey(
+            String property, String column, Function<Product, Object> extractor, Function<String, Object> parser) {
+        this.property = property;
+        this.column = column;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public static ProductSortKey fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(key -> key.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported scroll sort property: " + property));
+    }
+
+    public String property() {
+        return property;
+    }
+
+    String column() {
+        return column;
+    }
+
+    Object valueOf(Product product) {
+        return extractor.apply(product);
+    }
+
+    Object parse(String value) {
+        return parser.apply(value);
+    }
+
+    Object toJdbcValue(Object value) {
+        return value instanceof Instant instant ? Timestamp.from(instant) : value;
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.ProductStats;
+
+public interface ProductStatsRepository {
+
+    ProductStats computeStats();
+
+    ProductStats findStatsSnapshot();
+
+    void refreshStatsSnapshot();
+}
@@ -0,0 +1,69 @@
+package io.github.mm.flyway.product.repository;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+
+import io.github.mm.flyway.product.domain.ProductStats;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+class ProductStatsRepositoryImpl implements ProductStatsRepository {
+
+    // the aggregation is defined once, in the product_stats_live view (V7.7.2), which product_stats snapshots
+    private static final String STATS_SQL = "SELECT * FROM product_stats_live ORDER BY dimension, group_key";
+
+    private static final String SNAPSHOT_SQL = "SELECT * FROM product_stats ORDER BY dimension, group_key";
+
+    // CONCURRENTLY keeps the view readable during the refresh, at the cost of a diff against the old contents
+    private static final String REFRESH_SQL = "REFRESH MATERIALIZED VIEW CONCURRENTLY product_stats";
+
+    private final JdbcClient jdbcClient;
+
+    ProductStatsRepositoryImpl(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public ProductStats computeStats() {
+        return query(STATS_SQL);
+    }
+
+    @Override
+    public ProductStats findStatsSnapshot() {
+        return query(SNAPSHOT_SQL);
+    }
+
+    @Override
+    public void refreshStatsSnapshot() {
+        jdbcClient.sql(REFRESH_SQL).update();
+    }
+
+    private ProductStats query(String sql) {
+        var rows = jdbcClient.sql(sql).query(ProductStatsRepositoryImpl::mapRow).list();
+        var groups = rows.stream().collect(groupingBy(Row::dimension, mapping(Row::group, toList())));
+        // the empty grouping set always yields the TOTAL row, even for an empty table
+        return new ProductStats(
+                groups.getOrDefault("CATEGORY", List.of()),
+                groups.getOrDefault("STATUS", List.of()),
+                groups.get("TOTAL").getFirst(),
+                rows.getFirst().computedAt());
+    }
+
+    private static Row mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new Row(
+                rs.getString("dimension"),
+                new ProductStats.Group(
+                        rs.getString("group_key"),
+                        rs.getLong("product_count"),
+                        rs.getBigDecimal("stock_value"),
+                        rs.getBigDecimal("min_price"),
+                        rs.getBigDecimal("max_price")),
+                rs.getTimestamp("computed_at").toInstant());
+    }
+
+    private record Row(String dimension, ProductStats.Group group, Instant computedAt) {}
+}
@@ -0,0 +1,19 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.Product;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.NonNull;
+import org.springframework.data.domain.Pageable;
+
+public interface ProductTagRepository {
+
+    Map<Long, List<String>> findTagNames(Collection<Long> productIds);
+
+    List<@NonNull Product> findPageContentByTags(Collection<String> tags, Pageable pageable);
+
+    long countByTags(Collection<String> tags);
+
+    long estimateCountByTags(Collection<String> tags);
+}
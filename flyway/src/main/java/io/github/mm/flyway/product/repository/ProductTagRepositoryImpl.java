@@ -0,0 +1,133 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.Product;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.jspecify.annotations.NonNull;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.mapping.RelationalMappingContext;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+class ProductTagRepositoryImpl implements ProductTagRepository {
+
+    private static final String TAG_NAMES_SQL = """
+            SELECT pt.product_id, t.name
+            FROM product_tags pt
+                     JOIN tags t ON t.id = pt.tag_id
+            WHERE pt.product_id = ANY(:ids)
+            ORDER BY t.name""";
+
+    // products carrying every requested tag; the tag_id join is served by idx_product_tags_tag_id
+    private static final String TAGGED_IDS_SQL = """
+            SELECT pt.product_id
+            FROM product_tags pt
+                     JOIN tags t ON t.id = pt.tag_id
+            WHERE t.name = ANY(:tags)
+            GROUP BY pt.product_id
+            HAVING count(*) = :tagCount""";
+
+    private static final String COUNT_SQL =
+            "SELECT count(*) FROM active_products WHERE id IN (" + TAGGED_IDS_SQL + ")";
+
+    private static final String ESTIMATE_SQL =
+            "EXPLAIN (FORMAT JSON) SELECT id FROM active_products WHERE id IN (" + TAGGED_IDS_SQL + ")";
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\": (\\d+)");
+
+    private final JdbcClient jdbcClient;
+    private final RelationalMappingContext mappingContext;
+
+    ProductTagRepositoryImpl(JdbcClient jdbcClient, RelationalMappingContext mappingContext) {
+        this.jdbcClient = jdbcClient;
+        this.mappingContext = mappingContext;
+    }
+
+    // one round trip per page instead of one per product
+    @Override
+    public Map<Long, List<String>> findTagNames(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        var tags = new HashMap<Long, List<String>>();
+        jdbcClient
+                .sql(TAG_NAMES_SQL)
+                .param("ids", productIds.toArray(Long[]::new))
+                .query(rs -> {
+                    tags.computeIfAbsent(rs.getLong("product_id"), id -> new ArrayList<>())
+                            .add(rs.getString("name"));
+                });
+        return tags;
+    }
+
+    @Override
+    public List<@NonNull Product> findPageContentByTags(Collection<String> tags, Pageable pageable) {
+        var names = distinct(tags);
+        var sql = "SELECT * FROM active_products WHERE id IN (" + TAGGED_IDS_SQL + ")" + orderBy(pageable.getSort());
+        var statement = jdbcClient.sql(pageable.isPaged() ? sql + " LIMIT :limit OFFSET :offset" : sql)
+                .param("tags", names)
+                .param("tagCount", names.length);
+        if (pageable.isPaged()) {
+            statement = statement.param("limit", pageable.getPageSize()).param("offset", pageable.getOffset());
+        }
+        return statement.query(ProductRowMapper.INSTANCE).list();
+    }
+
+    @Override
+    public long countByTags(Collection<String> tags) {
+        var names = distinct(tags);
+        return jdbcClient
+                .sql(COUNT_SQL)
+                .param("tags", names)
+                .param("tagCount", names.length)
+                .query(Long.class)
+                .single();
+    }
+
+    // the planner's row estimate for the filter: no product or tag row is read
+    @Override
+    public long estimateCountByTags(Collection<String> tags) {
+        var names = distinct(tags);
+        var plan = jdbcClient
+                .sql(ESTIMATE_SQL)
+                .param("tags", names)
+                .param("tagCount", names.length)
+                .query(String.class)
+                .single();
+        var rows = PLAN_ROWS.matcher(plan); // the first match belongs to the top plan node
+        if (!rows.find()) {
+            throw new IllegalStateException("No row estimate in plan " + plan);
+        }
+        return Long.parseLong(rows.group(1));
+    }
+
+    private static String[] distinct(Collection<String> tags) {
+        return tags.stream().distinct().toArray(String[]::new);
+    }
+
+    // any persistent property the unfiltered list can sort by, resolved to its column through the mapping metadata,
+    // so the request never reaches the SQL text
+    private String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return " ORDER BY id";
+        }
+        var entity = mappingContext.getRequiredPersistentEntity(Product.class);
+        return sort.stream()
+                .map(order -> column(entity, order.getProperty()) + (order.isAscending() ? " ASC" : " DESC"))
+                .collect(Collectors.joining(", ", " ORDER BY ", ", id"));
+    }
+
+    private static String column(RelationalPersistentEntity<?> entity, String property) {
+        var persistentProperty = entity.getPersistentProperty(property);
+        if (persistentProperty == null || persistentProperty.isEntity()) {
+            throw new IllegalArgumentException("Unsupported sort property: " + property);
+        }
+        return persistentProperty.getColumnName().getReference();
+    }
+}
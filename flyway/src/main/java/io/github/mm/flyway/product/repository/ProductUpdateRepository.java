@@ -0,0 +1,10 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.Product;
+import java.util.Optional;
+
+public interface ProductUpdateRepository {
+
+    // empty when the row is missing or was changed since the product's version was read
+    Optional<Product> updateReturning(Product product);
+}
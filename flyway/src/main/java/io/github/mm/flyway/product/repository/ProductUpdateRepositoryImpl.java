@@ -0,0 +1,42 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.Product;
+import java.util.Optional;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+class ProductUpdateRepositoryImpl implements ProductUpdateRepository {
+
+    // shared with ProductBatchRepositoryImpl, so single and batch updates take the same optimistic lock
+    static final String UPDATE_SQL = """
+            UPDATE active_products
+            SET name           = :name,
+                description    = :description,
+                price          = :price,
+                stock_quantity = :stockQuantity,
+                sku            = :sku,
+                category       = :category,
+                status         = :status,
+                updated_at     = :updatedAt,
+                updated_by     = :updatedBy,
+                version        = version + 1
+            WHERE id = :id
+              AND version = :version
+            """;
+
+    private static final String RETURNING = "RETURNING *";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    ProductUpdateRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // one round trip: the version check and the read of the new row happen in the UPDATE itself
+    @Override
+    public Optional<Product> updateReturning(Product product) {
+        return jdbcTemplate
+                .query(UPDATE_SQL + RETURNING, ProductParameters.of(product), ProductRowMapper.INSTANCE)
+                .stream()
+                .findFirst();
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.Product;
+import io.github.mm.flyway.product.domain.ProductUpsert;
+import java.time.Instant;
+import java.util.List;
+import org.jspecify.annotations.NonNull;
+
+public interface ProductUpsertRepository {
+
+    // one result per product, in order; SKUs must be non-null and distinct
+    List<@NonNull ProductUpsert> upsertAllBySku(List<Product> products, Instant now, String username);
+}
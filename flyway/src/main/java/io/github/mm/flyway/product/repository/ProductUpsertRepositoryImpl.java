@@ -0,0 +1,111 @@
+package io.github.mm.flyway.product.repository;
+
+import io.github.mm.flyway.product.domain.BatchItemStatus;
+import io.github.mm.flyway.product.domain.Product;
+import io.github.mm.flyway.product.domain.ProductUpsert;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.NonNull;
+import org.springframework.jdbc.core.simple.JdbcClient;
+
+class ProductUpsertRepositoryImpl implements ProductUpsertRepository {
+
+    // the whole chunk travels as one array per column, so the statement text is the same for every chunk size.
+    // ON CONFLICT names the predicate of the partial unique index (V7.9); a soft-deleted row never conflicts.
+    // The WHERE clause skips rows whose values did not change: no new tuple, no WAL, and no RETURNING row.
+    // xmax is 0 only on a freshly inserted tuple, which tells inserts from updates.
+    // Like every other create path (Product.withAuditFields, batch insert, COPY), an insert fills the updated_*
+    // audit columns with the creation values.
+    private static final String UPSERT_SQL = """
+            INSERT INTO products AS p (name, description, price, stock_quantity, sku, category, status,
+                                       created_at, updated_at, created_by, updated_by)
+            SELECT r.name, r.description, r.price, r.stock_quantity, r.sku, r.category, r.status,
+                   :now, :now, :username, :username
+            FROM unnest(CAST(:names AS TEXT[]), CAST(:descriptions AS TEXT[]), CAST(:prices AS NUMERIC[]),
+                        CAST(:stockQuantities AS INTEGER[]), CAST(:skus AS TEXT[]), CAST(:categories AS TEXT[]),
+                        CAST(:statuses AS TEXT[]))
+                     AS r (name, description, price, stock_quantity, sku, category, status)
+            ON CONFLICT (sku) WHERE deleted_at IS NULL DO UPDATE
+                SET name           = EXCLUDED.name,
+                    description    = EXCLUDED.description,
+                    price          = EXCLUDED.price,
+                    stock_quantity = EXCLUDED.stock_quantity,
+                    category       = EXCLUDED.category,
+                    status         = EXCLUDED.status,
+                    updated_at     = EXCLUDED.updated_at,
+                    updated_by     = EXCLUDED.updated_by,
+                    version        = p.version + 1
+                WHERE (p.name, p.description, p.price, p.stock_quantity, p.category, p.status)
+                          IS DISTINCT FROM
+                      (EXCLUDED.name, EXCLUDED.description, EXCLUDED.price, EXCLUDED.stock_quantity,
+                       EXCLUDED.category, EXCLUDED.status)
+            RETURNING p.id, p.sku, p.xmax = 0 AS inserted""";
+
+    private static final String IDS_BY_SKU_SQL = """
+            SELECT id, sku
+            FROM active_products
+            WHERE sku = ANY(:skus)""";
+
+    private final JdbcClient jdbcClient;
+
+    ProductUpsertRepositoryImpl(JdbcClient jdbcClient) {
+        this.jdbcClient = jdbcClient;
+    }
+
+    @Override
+    public List<@NonNull ProductUpsert> upsertAllBySku(List<Product> products, Instant now, String username) {
+        if (products.isEmpty()) {
+            return List.of();
+        }
+        var written = new HashMap<String, ProductUpsert>();
+        jdbcClient
+                .sql(UPSERT_SQL)
+                .param("names", products.stream().map(Product::name).toArray(String[]::new))
+                .param("descriptions", products.stream().map(Product::description).toArray(String[]::new))
+                .param("prices", products.stream().map(p -> p.price().toPlainString()).toArray(String[]::new))
+                .param("stockQuantities", products.stream()
+                        .map(p -> p.stockQuantity() != null ? p.stockQuantity() : 0)
+                        .toArray(Integer[]::new))
+                .param("skus", products.stream().map(Product::sku).toArray(String[]::new))
+                .param("categories", products.stream()
+                        .map(p -> p.category() != null ? p.category().name() : null)
+                        .toArray(String[]::new))
+                .param("statuses", products.stream().map(p -> p.status().name()).toArray(String[]::new))
+                .param("now", Timestamp.from(now))
+                .param("username", username)
+                .query((rs, rowNum) -> new ProductUpsert(
+                        rs.getLong("id"),
+                        rs.getString("sku"),
+                        rs.getBoolean("inserted") ? BatchItemStatus.CREATED : BatchItemStatus.UPDATED))
+                .list()
+                .forEach(upsert -> written.put(upsert.sku(), upsert));
+
+        // unchanged rows are filtered out of RETURNING; look up their ids in one more round trip
+        var unchanged = products.stream()
+                .map(Product::sku)
+                .filter(sku -> !written.containsKey(sku))
+                .toList();
+        var unchangedIds = unchanged.isEmpty() ? Map.<String, Long>of() : findIdsBySku(unchanged);
+
+        return products.stream()
+                .map(product -> written.getOrDefault(
+                        product.sku(),
+                        new ProductUpsert(
+                                unchangedIds.get(product.sku()), product.sku(), BatchItemStatus.UNCHANGED)))
+                .toList();
+    }
+
+    private Map<String, Long> findIdsBySku(List<String> skus) {
+        var ids = new HashMap<String, Long>();
+        jdbcClient
+                .sql(IDS_BY_SKU_SQL)
+                .param("skus", skus.toArray(String[]::new))
+                .query(rs -> {
+                    ids.put(rs.getString("sku"), rs.getLong("id"));
+                });
+        return ids;
+    }
+}
@@ -1,27 +1,56 @@
 package io.github.mm.flyway.product.rest;
 
+import io.github.mm.flyway.product.ProductBatchService;
+import io.github.mm.flyway.product.ProductExportService;
 import io.github.mm.flyway.product.ProductService;
+import io.github.mm.flyway.product.StatsSource;
+import io.github.mm.flyway.product.TotalCountMode;
+import io.github.mm.flyway.product.domain.BatchItem;
+import io.github.mm.flyway.product.domain.Product;
+import io.github.mm.flyway.product.domain.ProductSearchHit;
 import io.github.mm.flyway.product.internal.ProductMapper;
+import io.github.mm.flyway.product.rest.dto.BatchResponse;
+import io.github.mm.flyway.product.rest.dto.ImportResponse;
+import io.github.mm.flyway.product.rest.dto.ProductBatchRequest;
 import io.github.mm.flyway.product.rest.dto.ProductRequest;
 import io.github.mm.flyway.product.rest.dto.ProductResponse;
+import io.github.mm.flyway.product.rest.dto.ProductStatsResponse;
 import io.github.mm.flyway.product.rest.dto.ScrollResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 import org.jspecify.annotations.NonNull;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedModel;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -33,6 +62,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
 
 @RestController
 @Validated
@@ -40,12 +71,25 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Products", description = "Product management APIs")
 public class ProductApi {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final ProductService service;
+    private final ProductBatchService batchService;
+    private final ProductExportService exportService;
     private final ProductMapper mapper;
+    private final JsonMapper jsonMapper;
 
-    public ProductApi(ProductService service, ProductMapper mapper) {
+    public ProductApi(
+            ProductService service,
+            ProductBatchService batchService,
+            ProductExportService exportService,
+            ProductMapper mapper,
+            JsonMapper jsonMapper) {
         this.service = service;
+        this.batchService = batchService;
+        this.exportService = exportService;
         this.mapper = mapper;
+        this.jsonMapper = jsonMapper;
     }
 
     @GetMapping
@@ -71,7 +115,21 @@ public class ProductApi {
                                 "Sorting criteria in format: property(,asc|desc). Default sort order is ascending. Multiple sort criteria are supported.",
                         example = "name,asc",
                         in = ParameterIn.QUERY,
-                        schema = @Schema(type = "string"))
+                        schema = @Schema(type = "string")),
+                @Parameter(
+                        name = "count",
+                        description =
+                                "How totalElements is computed: EXACT (count query), ESTIMATED (planner statistics) or CACHED (exact count cached for a short TTL)",
+                        example = "ESTIMATED",
+                        in = ParameterIn.QUERY,
+                        schema = @Schema(implementation = TotalCountMode.class, defaultValue = "EXACT")),
+                @Parameter(
+                        name = "tag",
+                        description =
+                                "Only products carrying all given tags. Repeat for several tags. Sorts by the same properties as the unfiltered list. count=ESTIMATED uses the planner's estimate for the filter; CACHED counts exactly, because only the unfiltered total is cached",
+                        example = "wireless",
+                        in = ParameterIn.QUERY,
+                        array = @ArraySchema(schema = @Schema(type = "string")))
             },
             responses = {
                 @ApiResponse(
@@ -103,9 +161,81 @@ public class ProductApi {
                                             """)))
             })
     public PagedModel<@NonNull ProductResponse> getAllProducts(
-            @PageableDefault @Parameter(hidden = true) Pageable pageable) {
-        var page = service.findAll(pageable);
-        return mapper.toPageModel(pageable, page);
+            @PageableDefault @Parameter(hidden = true) Pageable pageable,
+            @RequestParam(defaultValue = "EXACT") @Parameter(hidden = true) TotalCountMode count,
+            @RequestParam(required = false) @Parameter(hidden = true) List<String> tag) {
+        var page = tag == null || tag.isEmpty()
+                ? service.findAll(pageable, count)
+                : service.findAllByTags(tag, pageable, count);
+        return mapper.toPageModel(pageable, page, service.findTagNames(page.getContent()));
+    }
+
+    @GetMapping("/search")
+    @Operation(
+            summary = "Search products",
+            description =
+                    "Full-text search over name and description. Every word must match as a prefix. Results are ranked by relevance (name above description) and paginated with a keyset cursor",
+            parameters = {
+                @Parameter(name = "q", description = "Search text", example = "wire key", in = ParameterIn.QUERY),
+                @Parameter(
+                        name = "nextCursor",
+                        description = "Opaque cursor returned by the previous slice. Omit for the first page",
+                        in = ParameterIn.QUERY),
+                @Parameter(
+                        name = "size",
+                        description = "Number of items per page",
+                        example = "20",
+                        in = ParameterIn.QUERY,
+                        schema = @Schema(type = "integer", defaultValue = "20"))
+            })
+    public ScrollResponse<ProductResponse> searchProducts(
+            @RequestParam String q,
+            @RequestParam(required = false) String nextCursor,
+            @RequestParam(defaultValue = "20") @Parameter(hidden = true) @Max(100) @Min(1) int size) {
+        var slice = service.search(q, nextCursor, size);
+        var products = slice.getContent().stream().map(ProductSearchHit::product).toList();
+        return mapper.toSearchResponse(slice, service.findTagNames(products));
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Get product statistics",
+            description =
+                    "Count, stock value (price * stock quantity) and price range per category, per status and overall, aggregated in one grouped query",
+            parameters = {
+                @Parameter(
+                        name = "source",
+                        description =
+                                "SNAPSHOT reads the materialized view refreshed every mm.products.stats.refresh-interval, LIVE aggregates the table",
+                        example = "SNAPSHOT",
+                        in = ParameterIn.QUERY,
+                        schema = @Schema(implementation = StatsSource.class, defaultValue = "SNAPSHOT"))
+            })
+    public ProductStatsResponse getProductStats(
+            @RequestParam(defaultValue = "SNAPSHOT") @Parameter(hidden = true) StatsSource source) {
+        return mapper.toStatsResponse(service.stats(source));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Export all products as NDJSON",
+            description =
+                    "Streams the whole catalog ordered by id from a server-side cursor, one product per line. Memory use does not depend on the table size.")
+    public void exportProductsAsNdjson(HttpServletResponse response) throws IOException {
+        export(
+                response,
+                MediaType.APPLICATION_NDJSON_VALUE,
+                null,
+                product -> jsonMapper.writeValueAsString(mapper.toResponse(product)));
+    }
+
+    @GetMapping(value = "/export", produces = TEXT_CSV_VALUE)
+    @Operation(
+            summary = "Export all products as CSV",
+            description = "Streams the whole catalog ordered by id from a server-side cursor, with a header line.")
+    public void exportProductsAsCsv(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.csv\"");
+        export(response, TEXT_CSV_VALUE, ProductMapper.CSV_HEADER, mapper::toCsvRow);
     }
 
     @GetMapping("/{id}")
@@ -117,19 +247,25 @@ public class ProductApi {
     @GetMapping("/scroll")
     @Operation(
             summary = "Scroll products",
-            description = "Cursor-based pagination for scrolling through products",
+            description = "Keyset (cursor-based) pagination for scrolling through products in constant time",
             parameters = {
                 @Parameter(
                         name = "nextCursor",
-                        description = "Cursor (last item ID) to scroll from. Use 0 or null for first page",
-                        example = "100",
+                        description = "Opaque cursor returned by the previous slice. Omit for the first page",
                         in = ParameterIn.QUERY),
                 @Parameter(
                         name = "size",
                         description = "Number of items per page",
                         example = "20",
                         in = ParameterIn.QUERY,
-                        schema = @Schema(type = "integer", defaultValue = "20"))
+                        schema = @Schema(type = "integer", defaultValue = "20")),
+                @Parameter(
+                        name = "sort",
+                        description =
+                                "Sort keys in format: property(,asc|desc). Supported: id, name, price, createdAt. All keys share one direction; id is always appended as tiebreaker. Ignored when nextCursor is present.",
+                        example = "price,desc",
+                        in = ParameterIn.QUERY,
+                        schema = @Schema(type = "string"))
             },
             responses = {
                 @ApiResponse(
@@ -141,10 +277,11 @@ public class ProductApi {
                                         schema = @Schema(implementation = ScrollResponse.class)))
             })
     public ScrollResponse<ProductResponse> scrollProducts(
-            @RequestParam(defaultValue = "0") String nextCursor,
-            @RequestParam(defaultValue = "20") @Parameter(hidden = true) @Max(100) @Min(1) int size) {
-        var slice = service.scroll(nextCursor, PageRequest.of(0, size));
-        return mapper.toScrollResponse(slice);
+            @RequestParam(required = false) String nextCursor,
+            @RequestParam(defaultValue = "20") @Parameter(hidden = true) @Max(100) @Min(1) int size,
+            @SortDefault("id") @Parameter(hidden = true) Sort sort) {
+        var slice = service.scroll(nextCursor, PageRequest.of(0, size, sort));
+        return mapper.toScrollResponse(slice, service.findTagNames(slice.getContent()));
     }
 
     @PostMapping
@@ -156,8 +293,109 @@ public class ProductApi {
         return mapper.toResponse(savedProduct);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Create or update products in bulk",
+            description =
+                    "Validates and writes a JSON array of products in JDBC batches. Items with an id are updated, items without one are created. Returns a result per item.")
+    public BatchResponse importProducts(@RequestBody List<ProductBatchRequest> requests) {
+        var items = IntStream.range(0, requests.size()).mapToObj(i -> mapper.toBatchItem(i, requests.get(i)));
+        return mapper.toBatchResponse(batchService.importAll(items));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Create or update products in bulk from an NDJSON stream",
+            description =
+                    "Same as the JSON array variant, but reads one product per line while writing, so the request body is never held in memory.")
+    public BatchResponse importProductStream(InputStream body) {
+        var index = new AtomicInteger();
+        try (var lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)).lines()) {
+            var items = lines.filter(line -> !line.isBlank()).map(line -> toBatchItem(index.getAndIncrement(), line));
+            return mapper.toBatchResponse(batchService.importAll(items));
+        }
+    }
+
+    @PutMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Upsert products by SKU in bulk",
+            description =
+                    "Creates or updates a JSON array of products matched by SKU in one INSERT ... ON CONFLICT statement per chunk. Ids are ignored. Rows whose values did not change are not written and are reported as UNCHANGED.")
+    public BatchResponse upsertProducts(@RequestBody List<ProductBatchRequest> requests) {
+        var items = IntStream.range(0, requests.size()).mapToObj(i -> mapper.toBatchItem(i, requests.get(i)));
+        return mapper.toBatchResponse(batchService.upsertAll(items));
+    }
+
+    @PutMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Upsert products by SKU in bulk from an NDJSON stream",
+            description =
+                    "Same as the JSON array variant, but reads one product per line while writing, so a large supplier feed is never held in memory.")
+    public BatchResponse upsertProductStream(InputStream body) {
+        var index = new AtomicInteger();
+        try (var lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)).lines()) {
+            var items = lines.filter(line -> !line.isBlank()).map(line -> toBatchItem(index.getAndIncrement(), line));
+            return mapper.toBatchResponse(batchService.upsertAll(items));
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    @Operation(
+            summary = "Bulk load products from CSV via PostgreSQL COPY",
+            description =
+                    "Streams the body straight into COPY FROM STDIN. Columns: name, description, price, stock_quantity, sku, category, status. Audit columns are filled by the server. The load is all-or-nothing.")
+    public ImportResponse copyProductsFromCsv(
+            InputStream body,
+            @RequestParam(defaultValue = "true") @Parameter(description = "Whether the first line is a header")
+                    boolean header) {
+        var result = batchService.copyCsv(new InputStreamReader(body, StandardCharsets.UTF_8), header);
+        return mapper.toImportResponse(result);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Bulk load products from NDJSON via PostgreSQL COPY",
+            description =
+                    "Converts each line to a COPY row on the fly, without building products in memory. The load is all-or-nothing.")
+    public ImportResponse copyProductsFromNdjson(InputStream body) {
+        var result = batchService.copyNdjson(new InputStreamReader(body, StandardCharsets.UTF_8));
+        return mapper.toImportResponse(result);
+    }
+
+    private void export(
+            HttpServletResponse response, String contentType, String header, Function<Product, String> line)
+            throws IOException {
+        response.setContentType(contentType);
+        var writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        if (header != null) {
+            writer.write(header);
+            writer.write('\n');
+        }
+        // rows are flushed as the buffer fills up; a client disconnect aborts the export and closes the cursor
+        exportService.exportAll(product -> {
+            try {
+                writer.write(line.apply(product));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private BatchItem toBatchItem(int index, String line) {
+        try {
+            return mapper.toBatchItem(index, jsonMapper.readValue(line, ProductBatchRequest.class));
+        } catch (JacksonException e) {
+            return BatchItem.rejected(index, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
     @PutMapping("/{id}")
-    @Operation(summary = "Update product", description = "Updates an existing product")
+    @Operation(
+            summary = "Update product",
+            description =
+                    "Updates an existing product. The version the update is based on is required (428 without it); a product changed since then is rejected with 409.")
     public ProductResponse updateProduct(@PathVariable Long id, @Valid @RequestBody ProductRequest request) {
         var product = mapper.toEntity(id, request);
         var updatedProduct = service.update(id, product);
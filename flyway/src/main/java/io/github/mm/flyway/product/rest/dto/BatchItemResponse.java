@@ -0,0 +1,18 @@
+package io.github.mm.flyway.product.rest.dto;
+
+import io.github.mm.flyway.product.domain.BatchItemStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a single batch item")
+public record BatchItemResponse(
+        @Schema(description = "Zero-based position of the item in the request", example = "0")
+        int index,
+
+        @Schema(description = "Product ID, null when the item was not written", example = "1")
+        Long id,
+
+        @Schema(description = "Item outcome", example = "CREATED", requiredMode = Schema.RequiredMode.REQUIRED)
+        BatchItemStatus status,
+
+        @Schema(description = "Validation or database error, null on success")
+        String error) {}
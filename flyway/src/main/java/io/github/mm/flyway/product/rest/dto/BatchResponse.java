@@ -0,0 +1,18 @@
+package io.github.mm.flyway.product.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Batch import summary with per-item results")
+public record BatchResponse(
+        @Schema(description = "Number of items received", example = "3")
+        int total,
+
+        @Schema(description = "Number of items created or updated", example = "2")
+        int succeeded,
+
+        @Schema(description = "Number of items rejected or not written", example = "1")
+        int failed,
+
+        @Schema(description = "Per-item results in request order", requiredMode = Schema.RequiredMode.REQUIRED)
+        List<BatchItemResponse> items) {}
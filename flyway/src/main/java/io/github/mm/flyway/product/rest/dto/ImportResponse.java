@@ -0,0 +1,14 @@
+package io.github.mm.flyway.product.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Result of a COPY based bulk import")
+public record ImportResponse(
+        @Schema(description = "Number of imported rows", example = "1000000")
+        long rows,
+
+        @Schema(description = "Time spent in COPY in milliseconds", example = "4200")
+        long elapsedMillis,
+
+        @Schema(description = "Import throughput", example = "238095")
+        long rowsPerSecond) {}
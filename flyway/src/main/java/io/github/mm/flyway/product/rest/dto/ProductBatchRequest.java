@@ -0,0 +1,35 @@
+package io.github.mm.flyway.product.rest.dto;
+
+import io.github.mm.flyway.product.domain.ProductCategory;
+import io.github.mm.flyway.product.domain.ProductStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+
+@Schema(description = "Batch item; creates a product when id is absent, updates it otherwise")
+public record ProductBatchRequest(
+        @Schema(description = "ID of the product to update, omit to create", example = "1")
+        Long id,
+
+        @Schema(description = "Product name", example = "Laptop", requiredMode = Schema.RequiredMode.REQUIRED)
+        String name,
+
+        @Schema(description = "Product description", example = "High-performance laptop")
+        String description,
+
+        @Schema(description = "Product price", example = "1299.99", requiredMode = Schema.RequiredMode.REQUIRED)
+        BigDecimal price,
+
+        @Schema(description = "Stock quantity", example = "100")
+        Integer stockQuantity,
+
+        @Schema(description = "Product SKU (Stock Keeping Unit)", example = "PROD-00001")
+        String sku,
+
+        @Schema(description = "Product category", example = "ELECTRONICS")
+        ProductCategory category,
+
+        @Schema(description = "Product status", example = "ACTIVE")
+        ProductStatus status,
+
+        @Schema(description = "Version the update is based on, required with an id", example = "0")
+        Long version) {}
@@ -52,4 +52,9 @@ public record ProductRequest(
         ProductCategory category,
 
         @Schema(description = "Product status", example = "ACTIVE")
-        ProductStatus status) {}
+        ProductStatus status,
+
+        @Schema(
+                description = "Version the update is based on, required to update; a stale version is rejected with 409",
+                example = "0")
+        Long version) {}
@@ -1,10 +1,12 @@
 package io.github.mm.flyway.product.rest.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.github.mm.flyway.product.domain.ProductCategory;
 import io.github.mm.flyway.product.domain.ProductStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 
 @Schema(description = "Product response")
 public record ProductResponse(
@@ -46,4 +48,11 @@ public record ProductResponse(
         Instant createdAt,
 
         @Schema(description = "Timestamp when the product was last updated", example = "2024-11-26T12:30:00Z")
-        Instant updatedAt) {}
+        Instant updatedAt,
+
+        @Schema(description = "Row version, send it back with an update to detect concurrent edits", example = "0")
+        Long version,
+
+        @Schema(description = "Tag names, included by the list and scroll endpoints", example = "[\"portable\"]")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        List<String> tags) {}
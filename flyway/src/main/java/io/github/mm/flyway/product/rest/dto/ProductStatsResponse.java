@@ -0,0 +1,28 @@
+package io.github.mm.flyway.product.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Product aggregates per category, per status and overall")
+public record ProductStatsResponse(
+        @Schema(description = "One group per category; products without one are grouped as UNCATEGORIZED")
+        List<Group> byCategory,
+
+        @Schema(description = "One group per status") List<Group> byStatus,
+
+        @Schema(description = "All products") Group total,
+
+        @Schema(description = "When the aggregates were computed", example = "2024-11-26T12:00:00Z")
+        Instant computedAt) {
+
+    @Schema(description = "Aggregates of one group of products")
+    public record Group(
+            @Schema(description = "Category or status name", example = "ELECTRONICS") String key,
+            @Schema(description = "Number of products", example = "42") long count,
+            @Schema(description = "Sum of price * stock quantity", example = "54599.58") BigDecimal stockValue,
+            @Schema(description = "Lowest price, null for an empty group", example = "9.99") BigDecimal minPrice,
+            @Schema(description = "Highest price, null for an empty group", example = "1299.99")
+            BigDecimal maxPrice) {}
+}
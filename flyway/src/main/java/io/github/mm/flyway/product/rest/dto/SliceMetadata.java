@@ -7,7 +7,7 @@ public record SliceMetadata(
         @Schema(description = "Whether there are more items to fetch", requiredMode = Schema.RequiredMode.REQUIRED)
         boolean hasNext,
 
-        @Schema(description = "Cursor for the next page (last item ID), null if no more items", example = "100")
+        @Schema(description = "Opaque keyset cursor for the next page, null if no more items")
         String nextCursor,
 
         @Schema(description = "The size of slice", example = "10")
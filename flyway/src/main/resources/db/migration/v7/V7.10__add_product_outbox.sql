@@ -0,0 +1,13 @@
+-- V7.10: Transactional outbox. Product writes append a change event in the same transaction;
+-- ProductOutboxRelay publishes the events in id order and deletes them once the sink accepted them.
+
+CREATE TABLE dbo.product_outbox
+(
+    id          BIGINT GENERATED ALWAYS AS IDENTITY,
+    product_id  BIGINT                      NOT NULL,
+    change_type VARCHAR(10)                 NOT NULL,
+    payload     JSONB                       NOT NULL,
+    occurred_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_product_outbox PRIMARY KEY (id),
+    CONSTRAINT chk_product_outbox_change_type CHECK (change_type IN ('CREATED', 'UPDATED', 'DELETED'))
+);
@@ -0,0 +1,11 @@
+-- V7.1: Composite indexes backing keyset (seek) pagination; id is the tiebreaker
+-- CONCURRENTLY keeps writes flowing during the builds, so Flyway runs this script outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_name_id ON dbo.products (name, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_price_id ON dbo.products (price, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_created_at_id ON dbo.products (created_at, id);
+
+-- (name, id) serves every lookup by name as well, so the single-column index only costs writes
+DROP INDEX CONCURRENTLY IF EXISTS dbo.idx_products_name;
@@ -0,0 +1,5 @@
+-- V7.2.1: Check the rows that existed before V7.2. The scan holds only SHARE UPDATE EXCLUSIVE, so reads and writes
+-- continue while it runs.
+
+ALTER TABLE dbo.products
+    VALIDATE CONSTRAINT chk_products_category;
@@ -0,0 +1,7 @@
+-- V7.2: Constrain category to ProductCategory values (bulk COPY loads bypass the application enums)
+-- NOT VALID checks new and updated rows only, so the ACCESS EXCLUSIVE lock is held without scanning the table.
+-- V7.2.1 validates the existing rows.
+
+ALTER TABLE dbo.products
+    ADD CONSTRAINT chk_products_category CHECK (category IN ('ELECTRONICS', 'PERIPHERALS', 'OFFICE_SUPPLIES'))
+        NOT VALID;
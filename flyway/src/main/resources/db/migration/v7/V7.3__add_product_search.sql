@@ -0,0 +1,9 @@
+-- V7.3: Full-text search over name (weight A) and description (weight B); prefix matching uses tsquery ':*'
+-- An expression index instead of a generated column, so products is not rewritten under ACCESS EXCLUSIVE.
+-- ProductSearchRepositoryImpl repeats the expression verbatim, which is what lets the planner match the index.
+-- CONCURRENTLY keeps writes flowing during the build, so Flyway runs this script outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_search ON dbo.products USING GIN ((
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B')
+));
@@ -0,0 +1,4 @@
+-- V7.5: Row version for optimistic locking (a constant default is metadata-only, no table rewrite)
+
+ALTER TABLE dbo.products
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,23 @@
+-- V7.6: Dashboard aggregates per category, per status and overall, refreshed by ProductStatsRefresher
+-- Keys are never NULL, so the unique index supports REFRESH MATERIALIZED VIEW CONCURRENTLY
+
+CREATE MATERIALIZED VIEW dbo.product_stats AS
+SELECT CASE
+           WHEN GROUPING(category) = 0 THEN 'CATEGORY'
+           WHEN GROUPING(status) = 0 THEN 'STATUS'
+           ELSE 'TOTAL'
+           END                                  AS dimension,
+       CASE
+           WHEN GROUPING(category) = 0 THEN coalesce(category, 'UNCATEGORIZED')
+           WHEN GROUPING(status) = 0 THEN status
+           ELSE 'ALL'
+           END                                  AS group_key,
+       count(*)                                 AS product_count,
+       coalesce(sum(price * stock_quantity), 0) AS stock_value,
+       min(price)                               AS min_price,
+       max(price)                               AS max_price,
+       now()                                    AS computed_at
+FROM dbo.products
+GROUP BY GROUPING SETS ((category), (status), ());
+
+CREATE UNIQUE INDEX idx_product_stats_dimension_key ON dbo.product_stats (dimension, group_key);
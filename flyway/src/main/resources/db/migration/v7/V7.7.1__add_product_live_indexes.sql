@@ -0,0 +1,16 @@
+-- V7.7.1: Partial indexes hold live rows only, so deleted rows add no bloat to the hot lookups.
+-- Each replacement is built under a new name before the full index goes, so lookups stay indexed throughout.
+-- CONCURRENTLY keeps writes flowing during the builds, so Flyway runs this script outside a transaction.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_status_live ON dbo.products (status) WHERE deleted_at IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_category_live ON dbo.products (category) WHERE deleted_at IS NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_sku_live ON dbo.products (sku) WHERE deleted_at IS NULL;
+
+-- Only deleted rows, the purger's work queue
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_deleted_at ON dbo.products (deleted_at)
+    WHERE deleted_at IS NOT NULL;
+
+-- Only B7 creates idx_products_category; a database migrated through V1-V6 never had it
+DROP INDEX CONCURRENTLY IF EXISTS dbo.idx_products_status;
+DROP INDEX CONCURRENTLY IF EXISTS dbo.idx_products_category;
+DROP INDEX CONCURRENTLY IF EXISTS dbo.idx_products_sku;
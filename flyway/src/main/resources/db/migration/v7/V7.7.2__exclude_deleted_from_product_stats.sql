@@ -0,0 +1,31 @@
+-- V7.7.2: Deleted products leave the stats. Rebuilding the view locks only product_stats; the products table is
+-- read under ACCESS SHARE, so writes keep flowing.
+-- product_stats_live holds the only definition of the aggregation: the materialized view snapshots it and
+-- GET /api/products/stats?source=LIVE reads it directly.
+
+DROP MATERIALIZED VIEW dbo.product_stats;
+
+CREATE VIEW dbo.product_stats_live AS
+SELECT CASE
+           WHEN GROUPING(category) = 0 THEN 'CATEGORY'
+           WHEN GROUPING(status) = 0 THEN 'STATUS'
+           ELSE 'TOTAL'
+           END                                  AS dimension,
+       CASE
+           WHEN GROUPING(category) = 0 THEN coalesce(category, 'UNCATEGORIZED')
+           WHEN GROUPING(status) = 0 THEN status
+           ELSE 'ALL'
+           END                                  AS group_key,
+       count(*)                                 AS product_count,
+       coalesce(sum(price * stock_quantity), 0) AS stock_value,
+       min(price)                               AS min_price,
+       max(price)                               AS max_price,
+       now()                                    AS computed_at
+FROM dbo.active_products
+GROUP BY GROUPING SETS ((category), (status), ());
+
+CREATE MATERIALIZED VIEW dbo.product_stats AS
+SELECT *
+FROM dbo.product_stats_live;
+
+CREATE UNIQUE INDEX idx_product_stats_dimension_key ON dbo.product_stats (dimension, group_key);
@@ -0,0 +1,11 @@
+-- V7.7: Soft delete. Deleting a product sets deleted_at; ProductPurger removes the rows later in paced batches.
+-- Reads go through the active_products view, which PostgreSQL inlines, so the partial indexes of V7.7.1 apply.
+-- A nullable column without a default is metadata-only, so the ACCESS EXCLUSIVE lock is held only briefly.
+
+ALTER TABLE dbo.products
+    ADD COLUMN deleted_at TIMESTAMP WITHOUT TIME ZONE;
+
+CREATE VIEW dbo.active_products AS
+SELECT *
+FROM dbo.products
+WHERE deleted_at IS NULL;
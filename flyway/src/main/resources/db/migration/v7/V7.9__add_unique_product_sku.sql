@@ -0,0 +1,7 @@
+-- V7.9: One live product per SKU. Soft-deleted rows keep their SKU, so the index is partial like the one it
+-- replaces; upserts name the same predicate in ON CONFLICT (sku) WHERE deleted_at IS NULL.
+-- CONCURRENTLY keeps writes flowing during the build, so Flyway runs this script outside a transaction.
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uq_products_sku ON dbo.products (sku) WHERE deleted_at IS NULL;
+
+DROP INDEX CONCURRENTLY IF EXISTS dbo.idx_products_sku_live;
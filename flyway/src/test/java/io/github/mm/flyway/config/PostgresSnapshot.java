@@ -0,0 +1,182 @@
+package io.github.mm.flyway.config;
+
+import io.github.mm.flyway.infrastructure.config.MigrationProperties;
+import io.github.mm.flyway.infrastructure.flyway.migration.V7_4__Backfill_product_skus;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.flyway.autoconfigure.FlywayProperties;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+// One PostgreSQL container per JVM, kept between runs when testcontainers.reuse.enable=true is set in
+// ~/.testcontainers.properties. It holds a migrated template database; every Spring context gets its own copy,
+// which PostgreSQL creates by copying files instead of replaying the migrations.
+public final class PostgresSnapshot {
+
+    private static final int POSTGRES_PORT = 5432;
+
+    private static final PostgreSQLContainer POSTGRES = new PostgreSQLContainer("postgres:16-alpine")
+            .withDatabaseName("product")
+            .withUsername("user")
+            .withPassword("pass123")
+            .withReuse(true);
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+    private static final List<String> CREATED = new CopyOnWriteArrayList<>();
+    private static String template;
+
+    private PostgresSnapshot() {}
+
+    public static synchronized Database createDatabase(boolean fromTemplate) {
+        if (!POSTGRES.isRunning()) {
+            POSTGRES.start();
+            // a reused container outlives the JVM, so drop this run's copies on the way out
+            Runtime.getRuntime().addShutdownHook(Thread.ofPlatform().unstarted(PostgresSnapshot::dropDatabases));
+        }
+        var name = "product_" + ProcessHandle.current().pid() + "_" + DATABASES.incrementAndGet();
+        execute(fromTemplate ? "CREATE DATABASE " + name + " TEMPLATE " + template() : "CREATE DATABASE " + name);
+        CREATED.add(name);
+        return new Database(name, jdbcUrl(name), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    // named after a hash of the migrations and their settings, so a change builds a new template instead of
+    // reusing a stale one
+    private static String template() {
+        if (template == null) {
+            var name = "product_template_" + fingerprint();
+            if (!exists(name)) {
+                var building = name + "_" + ProcessHandle.current().pid();
+                execute("CREATE DATABASE " + building);
+                migrate(jdbcUrl(building), "latest");
+                try {
+                    execute("ALTER DATABASE " + building + " RENAME TO " + name);
+                } catch (IllegalStateException e) {
+                    execute("DROP DATABASE " + building); // another JVM published the same template first
+                }
+            }
+            template = name;
+        }
+        return template;
+    }
+
+    // migrates a database from createDatabase(false) up to the given version, e.g. to take the versioned path an
+    // existing deployment took instead of the baseline an empty schema starts from
+    public static MigrateResult migrate(Database database, String target, Callback... callbacks) {
+        return migrate(database.url(), target, callbacks);
+    }
+
+    // configured from spring.flyway and mm.flyway as the test profile resolves them, so the template is migrated
+    // with the settings the application uses; the SQL callbacks only log and are left out, Java ones are passed in
+    private static MigrateResult migrate(String url, String target, Callback... callbacks) {
+        var binder = testProfileBinder();
+        var flyway = binder.bindOrCreate("spring.flyway", FlywayProperties.class);
+        var migration = binder.bindOrCreate("mm.flyway", MigrationProperties.class);
+        Flyway.configure()
+                .configuration(Map.of(
+                        "flyway.postgresql.transactional.lock",
+                        String.valueOf(flyway.getPostgresql().getTransactionalLock())))
+                .dataSource(url, POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations(flyway.getLocations().toArray(String[]::new))
+                .schemas(flyway.getSchemas().toArray(String[]::new))
+                .defaultSchema(flyway.getDefaultSchema())
+                .createSchemas(flyway.isCreateSchemas())
+                .table(flyway.getTable())
+                .baselineVersion(flyway.getBaselineVersion())
+                .baselineDescription(flyway.getBaselineDescription())
+                .javaMigrations(new V7_4__Backfill_product_skus(migration))
+                .callbacks(callbacks)
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    // application-test.yml first, so its values win as they do under @ActiveProfiles("test")
+    private static Binder testProfileBinder() {
+        try {
+            var loader = new YamlPropertySourceLoader();
+            var sources = new ArrayList<PropertySource<?>>();
+            for (var file : List.of("application-test.yml", "application.yml")) {
+                sources.addAll(loader.load(file, new ClassPathResource(file)));
+            }
+            return new Binder(ConfigurationPropertySources.from(sources));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read the application configuration", e);
+        }
+    }
+
+    private static String fingerprint() {
+        try {
+            var resolver = new PathMatchingResourcePatternResolver();
+            var resources = new ArrayList<>(List.of(resolver.getResources("classpath*:db/migration/**/*.sql")));
+            resources.addAll(List.of(
+                    resolver.getResources("classpath*:io/github/mm/flyway/infrastructure/flyway/**/*.class")));
+            resources.addAll(List.of(resolver.getResources("classpath*:application*.yml"))); // the settings it binds
+            resources.sort(Comparator.comparing(Resource::getFilename));
+            var digest = MessageDigest.getInstance("SHA-256");
+            for (var resource : resources) {
+                digest.update(resource.getFilename().getBytes());
+                digest.update(resource.getContentAsByteArray());
+            }
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint migrations", e);
+        }
+    }
+
+    private static boolean exists(String database) {
+        try (var connection = adminConnection();
+                var statement = connection.prepareStatement("SELECT 1 FROM pg_database WHERE datname = ?")) {
+            statement.setString(1, database);
+            try (var rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not look up database " + database, e);
+        }
+    }
+
+    private static void dropDatabases() {
+        // FORCE closes connections of Spring contexts that are still shutting down
+        CREATED.forEach(database -> execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)"));
+    }
+
+    private static void execute(String sql) {
+        try (var connection = adminConnection();
+                var statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not execute " + sql, e);
+        }
+    }
+
+    private static Connection adminConnection() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    private static String jdbcUrl(String database) {
+        return "jdbc:postgresql://%s:%d/%s"
+                .formatted(POSTGRES.getHost(), POSTGRES.getMappedPort(POSTGRES_PORT), database);
+    }
+
+    public record Database(String name, String url, String username, String password) {}
+}
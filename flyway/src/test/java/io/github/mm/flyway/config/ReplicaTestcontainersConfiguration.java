@@ -0,0 +1,28 @@
+package io.github.mm.flyway.config;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistrar;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+// a standalone second database stands in for a streaming replica; it is never in recovery, so its lag is 0
+@TestConfiguration(proxyBeanMethods = false)
+public class ReplicaTestcontainersConfiguration {
+
+    @Bean
+    public PostgreSQLContainer replicaContainer() {
+        return new PostgreSQLContainer("postgres:16-alpine")
+                .withDatabaseName("replica")
+                .withUsername("user")
+                .withPassword("pass123");
+    }
+
+    @Bean
+    public DynamicPropertyRegistrar replicaProperties(PostgreSQLContainer replicaContainer) {
+        return registry -> {
+            registry.add("mm.datasource.replicas[0].url", replicaContainer::getJdbcUrl);
+            registry.add("mm.datasource.replicas[0].username", replicaContainer::getUsername);
+            registry.add("mm.datasource.replicas[0].password", replicaContainer::getPassword);
+        };
+    }
+}
@@ -1,19 +1,23 @@
 package io.github.mm.flyway.config;
 
 import org.springframework.boot.test.context.TestConfiguration;
-import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
 import org.springframework.context.annotation.Bean;
-import org.testcontainers.postgresql.PostgreSQLContainer;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.DynamicPropertyRegistrar;
 
 @TestConfiguration(proxyBeanMethods = false)
 public class TestcontainersConfiguration {
 
+    // a private copy of the migrated template in the shared container;
+    // mm.test.schema-snapshot=false gives an empty database that Flyway migrates from scratch
     @Bean
-    @ServiceConnection
-    public PostgreSQLContainer postgresContainer() {
-        return new PostgreSQLContainer("postgres:16-alpine")
-                .withDatabaseName("product")
-                .withUsername("user")
-                .withPassword("pass123");
+    public DynamicPropertyRegistrar postgresDatabase(Environment environment) {
+        var database = PostgresSnapshot.createDatabase(
+                environment.getProperty("mm.test.schema-snapshot", Boolean.class, true));
+        return registry -> {
+            registry.add("spring.datasource.url", database::url);
+            registry.add("spring.datasource.username", database::username);
+            registry.add("spring.datasource.password", database::password);
+        };
     }
 }
@@ -0,0 +1,154 @@
+package io.github.mm.flyway.infrastructure.datasource;
+
+import static io.github.mm.flyway.product.fixtures.ProductFixtures.laptop;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.mm.flyway.config.ReplicaTestcontainersConfiguration;
+import io.github.mm.flyway.product.ProductService;
+import io.github.mm.flyway.product.domain.Product;
+import io.github.mm.flyway.test.SpringBootIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+@SpringBootIntegrationTest
+@Import(ReplicaTestcontainersConfiguration.class)
+@DisplayName("Read Replica Routing Integration Tests")
+class ReadReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private PostgreSQLContainer replicaContainer;
+
+    @Test
+    @DisplayName("Should route read-only transactions to the replica")
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should route read-write transactions to the primary")
+    void shouldRouteReadWriteTransactionsToPrimary() {
+        var readWrite = new TransactionTemplate(transactionManager);
+
+        // each context gets its own product_* copy of the template database
+        assertThat(readWrite.execute(status -> currentDatabase())).startsWith("product_");
+        assertThat(currentDatabase()).startsWith("product_");
+    }
+
+    @Test
+    @DisplayName("Should publish pool metrics per route")
+    void shouldPublishPoolMetricsPerRoute() {
+        var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.execute(status -> currentDatabase());
+
+        assertThat(registry.find("hikaricp.connections").tag("pool", "replica-0").gauge())
+                .isNotNull();
+    }
+
+    private String currentDatabase() {
+        return jdbcClient.sql("SELECT current_database()").query(String.class).single();
+    }
+
+    @Test
+    @DisplayName("Should read a product from the primary right after updating it while the replica lags")
+    void shouldReadOwnUpdateWhileReplicaLags() {
+        var created = productService.create(laptop());
+        var stale = staleReplicaOf(created);
+        productService.findById(created.id()); // cached before the update, so the update has to evict it
+
+        productService.update(created.id(), renamed(created, "Laptop Pro"));
+
+        assertThat(stale.sql("SELECT name FROM dbo.active_products WHERE id = ?")
+                        .param(created.id())
+                        .query(String.class)
+                        .single())
+                .isEqualTo("Laptop");
+        assertThat(productService.findById(created.id()).name()).isEqualTo("Laptop Pro");
+    }
+
+    // the replica database has no schema of its own; the pre-update row on it plays a replica that has not
+    // replayed the update yet
+    private JdbcClient staleReplicaOf(Product product) {
+        var replica = JdbcClient.create(new DriverManagerDataSource(
+                replicaContainer.getJdbcUrl(), replicaContainer.getUsername(), replicaContainer.getPassword()));
+        replica.sql("CREATE SCHEMA IF NOT EXISTS dbo").update();
+        replica.sql("""
+                        CREATE TABLE IF NOT EXISTS dbo.active_products
+                        (
+                            id             BIGINT PRIMARY KEY,
+                            name           VARCHAR(200),
+                            description    TEXT,
+                            price          DECIMAL(10, 2),
+                            stock_quantity INTEGER,
+                            sku            VARCHAR(50),
+                            category       VARCHAR(50),
+                            status         VARCHAR(20),
+                            created_at     TIMESTAMP,
+                            updated_at     TIMESTAMP,
+                            created_by     VARCHAR(100),
+                            updated_by     VARCHAR(100),
+                            version        BIGINT
+                        )""")
+                .update();
+        replica.sql("""
+                        INSERT INTO dbo.active_products
+                        (id, name, description, price, stock_quantity, sku, category, status, created_at, created_by,
+                         version)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""")
+                .params(
+                        product.id(),
+                        product.name(),
+                        product.description(),
+                        product.price(),
+                        product.stockQuantity(),
+                        product.sku(),
+                        product.category().name(),
+                        product.status().name(),
+                        Timestamp.from(product.createdAt()),
+                        product.createdBy(),
+                        product.version())
+                .update();
+        return replica;
+    }
+
+    private static Product renamed(Product product, String name) {
+        return new Product(
+                product.id(),
+                name,
+                product.description(),
+                product.price(),
+                product.stockQuantity(),
+                product.sku(),
+                product.category(),
+                product.status(),
+                product.createdAt(),
+                product.updatedAt(),
+                product.createdBy(),
+                product.updatedBy(),
+                product.version());
+    }
+}
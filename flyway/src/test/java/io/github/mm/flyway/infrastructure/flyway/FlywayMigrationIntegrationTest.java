@@ -1,20 +1,44 @@
 package io.github.mm.flyway.infrastructure.flyway;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import io.github.mm.flyway.config.PostgresSnapshot;
+import io.github.mm.flyway.infrastructure.config.MigrationProperties;
 import io.github.mm.flyway.test.SpringBootIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import javax.sql.DataSource;
 import org.flywaydb.core.Flyway;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.TestPropertySource;
 
 @SpringBootIntegrationTest
+@TestPropertySource(properties = "mm.test.schema-snapshot=false") // migrate an empty database, not the template copy
 @DisplayName("Flyway Migration Integration Tests")
 class FlywayMigrationIntegrationTest {
 
     @Autowired
     private Flyway flyway;
 
+    @Autowired
+    private MigrationReport report;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private MigrationProperties migrationProperties;
+
+    @Autowired
+    private DataSource dataSource;
+
     @Test
     @DisplayName("Should successfully execute all migrations")
     void shouldExecuteAllMigrationsSuccessfully() {
@@ -41,4 +65,100 @@ class FlywayMigrationIntegrationTest {
     void shouldValidateMigrationChecksums() {
         assertThat(flyway.validateWithResult().validationSuccessful).isTrue();
     }
+
+    @Test
+    @DisplayName("Should apply batched backfill as a Java migration")
+    void shouldApplyBatchedBackfillAsJavaMigration() {
+        var backfill = Arrays.stream(flyway.info().applied())
+                .filter(migration -> migration.getVersion() != null)
+                .filter(migration -> "7.4".equals(migration.getVersion().getVersion()))
+                .findFirst();
+
+        assertThat(backfill).hasValueSatisfying(migration -> {
+            assertThat(migration.getType().name()).isEqualTo("JDBC");
+            assertThat(migration.getState().isApplied()).isTrue();
+        });
+    }
+
+    @Test
+    @DisplayName("Should backfill missing SKUs from the full product id")
+    void shouldBackfillMissingSkusFromFullId() {
+        var database = PostgresSnapshot.createDatabase(false);
+        PostgresSnapshot.migrate(database, "7.3");
+        var jdbc = JdbcClient.create(
+                new DriverManagerDataSource(database.url(), database.username(), database.password()));
+        jdbc.sql("""
+                        INSERT INTO dbo.products (id, name, price, sku, category)
+                        VALUES (42, 'Short id', 1.00, NULL, 'OFFICE_SUPPLIES'),
+                               (100042, 'Long id', 1.00, NULL, 'OFFICE_SUPPLIES'),
+                               (100043, 'Has a SKU', 1.00, 'KEEP-ME', 'OFFICE_SUPPLIES')""")
+                .update();
+
+        PostgresSnapshot.migrate(database, "7.4");
+
+        assertThat(jdbc.sql("SELECT sku FROM dbo.products WHERE id IN (42, 100042, 100043) ORDER BY id")
+                        .query(String.class)
+                        .list())
+                .containsExactly("PROD-00042", "PROD-100042", "KEEP-ME");
+    }
+
+    @Test
+    @DisplayName("Should record timing for every applied migration")
+    void shouldRecordTimingForEveryAppliedMigration() {
+        var timings = report.timings();
+
+        assertThat(timings).extracting(MigrationTiming::version).contains("7", "7.1", "7.4");
+        assertThat(timings).allSatisfy(timing -> {
+            assertThat(timing.success()).isTrue();
+            assertThat(timing.duration()).isPositive();
+            assertThat(timing.lockWait()).isNotNegative();
+        });
+        assertThat(registry.find("flyway.migration.duration").timers()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Should migrate a database that started at V1.1 through every versioned script")
+    void shouldMigrateFromFirstVersionedScript() {
+        // an empty schema starts from the latest baseline; deployments older than B7 took the V1-V6 path instead
+        var database = PostgresSnapshot.createDatabase(false);
+        PostgresSnapshot.migrate(database, "1.1");
+
+        var result = PostgresSnapshot.migrate(database, "latest");
+
+        assertThat(result.success).isTrue();
+        assertThat(result.migrations)
+                .extracting(migration -> migration.version)
+                .contains("2.1", "6.1", "7.4", "7.7.1", "7.9")
+                .doesNotContain("7");
+    }
+
+    @Test
+    @DisplayName("Should rebuild an index a failed concurrent build left invalid")
+    void shouldRebuildInvalidIndexOnRetry() {
+        var database = PostgresSnapshot.createDatabase(false);
+        PostgresSnapshot.migrate(database, "7.8");
+        var jdbc = JdbcClient.create(
+                new DriverManagerDataSource(database.url(), database.username(), database.password()));
+        jdbc.sql("""
+                        INSERT INTO dbo.products (name, price, sku, category)
+                        VALUES ('Duplicate A', 1.00, 'DUP-1', 'OFFICE_SUPPLIES'),
+                               ('Duplicate B', 1.00, 'DUP-1', 'OFFICE_SUPPLIES')""")
+                .update();
+        // what an interrupted V7.9 leaves behind: the duplicate fails the build, and the index stays, marked invalid
+        var build = "CREATE UNIQUE INDEX CONCURRENTLY uq_products_sku ON dbo.products (sku) WHERE deleted_at IS NULL";
+        assertThatThrownBy(() -> jdbc.sql(build).update()).isInstanceOf(DataIntegrityViolationException.class);
+        jdbc.sql("DELETE FROM dbo.products WHERE name = 'Duplicate B'").update();
+
+        var callback = new FlywayMigrationCallback(
+                migrationProperties, dataSource, new MigrationReport(new SimpleMeterRegistry()));
+        var result = PostgresSnapshot.migrate(database, "latest", callback);
+
+        assertThat(result.success).isTrue();
+        assertThat(jdbc.sql("""
+                        SELECT i.indisvalid FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+                        WHERE c.relname = 'uq_products_sku'""")
+                        .query(Boolean.class)
+                        .single())
+                .isTrue();
+    }
 }
@@ -5,11 +5,19 @@ import io.github.mm.flyway.product.domain.ProductCategory;
 import io.github.mm.flyway.product.domain.ProductStatus;
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class ProductFixtures {
 
+    private static final AtomicInteger SKU_SEQUENCE = new AtomicInteger();
+
     private ProductFixtures() {}
 
+    // live SKUs are unique (V7.9) and tests share a database, so every fixture gets its own
+    public static String sku(String prefix) {
+        return "%s-%03d".formatted(prefix, SKU_SEQUENCE.incrementAndGet());
+    }
+
     public static Product laptop() {
         return new Product(
                 null,
@@ -17,13 +25,14 @@ public final class ProductFixtures {
                 "High-performance laptop",
                 new BigDecimal("1299.99"),
                 50,
-                "PROD-LAPTOP-001",
+                sku("PROD-LAPTOP"),
                 ProductCategory.ELECTRONICS,
                 ProductStatus.ACTIVE,
                 Instant.now(),
                 Instant.now(),
                 "test",
-                "test");
+                "test",
+                null);
     }
 
     public static Product mouse() {
@@ -33,13 +42,14 @@ public final class ProductFixtures {
                 "Ergonomic wireless mouse",
                 new BigDecimal("29.99"),
                 200,
-                "PROD-MOUSE-001",
+                sku("PROD-MOUSE"),
                 ProductCategory.PERIPHERALS,
                 ProductStatus.ACTIVE,
                 Instant.now(),
                 Instant.now(),
                 "test",
-                "test");
+                "test",
+                null);
     }
 
     public static Product monitor() {
@@ -49,13 +59,14 @@ public final class ProductFixtures {
                 "27-inch 4K UHD Monitor",
                 new BigDecimal("599.99"),
                 30,
-                "PROD-MONITOR-001",
+                sku("PROD-MONITOR"),
                 ProductCategory.ELECTRONICS,
                 ProductStatus.ACTIVE,
                 Instant.now(),
                 Instant.now(),
                 "test",
-                "test");
+                "test",
+                null);
     }
 
     public static Product webcam() {
@@ -65,13 +76,14 @@ public final class ProductFixtures {
                 "1080p webcam with microphone",
                 new BigDecimal("79.99"),
                 75,
-                "PROD-WEBCAM-001",
+                sku("PROD-WEBCAM"),
                 ProductCategory.PERIPHERALS,
                 ProductStatus.ACTIVE,
                 Instant.now(),
                 Instant.now(),
                 "test",
-                "test");
+                "test",
+                null);
     }
 
     public static Product inactiveProduct() {
@@ -81,13 +93,14 @@ public final class ProductFixtures {
                 "Old model mouse",
                 new BigDecimal("19.99"),
                 0,
-                "PROD-OLD-001",
+                sku("PROD-OLD"),
                 ProductCategory.PERIPHERALS,
                 ProductStatus.INACTIVE,
                 Instant.now(),
                 Instant.now(),
                 "test",
-                "test");
+                "test",
+                null);
     }
 
     public static Product withId(Product product, Long id) {
@@ -103,6 +116,7 @@ public final class ProductFixtures {
                 product.createdAt(),
                 product.updatedAt(),
                 product.createdBy(),
-                product.updatedBy());
+                product.updatedBy(),
+                product.version());
     }
 }
@@ -1,5 +1,7 @@
 package io.github.mm.flyway.product.fixtures;
 
+import static io.github.mm.flyway.product.fixtures.ProductFixtures.sku;
+
 public final class ProductJsonFixtures {
 
     private ProductJsonFixtures() {}
@@ -11,25 +13,40 @@ public final class ProductJsonFixtures {
                     "description": "HD Webcam with microphone",
                     "price": 89.99,
                     "stockQuantity": 30,
-                    "sku": "PROD-WEBCAM-001",
+                    "sku": "%s",
                     "category": "ELECTRONICS",
                     "status": "ACTIVE"
                 }
-                """;
+                """.formatted(sku("PROD-WEBCAM"));
     }
 
-    public static String updateRequest() {
+    public static String updateRequestWithoutVersion() {
         return """
                 {
                     "name": "Updated Product",
                     "description": "Updated description",
                     "price": 149.99,
                     "stockQuantity": 75,
-                    "sku": "PROD-UPDATED-001",
+                    "sku": "%s",
                     "category": "ELECTRONICS",
                     "status": "ACTIVE"
                 }
-                """;
+                """.formatted(sku("PROD-UPDATED"));
+    }
+
+    public static String updateRequest(long version) {
+        return """
+                {
+                    "name": "Updated Product",
+                    "description": "Updated description",
+                    "price": 149.99,
+                    "stockQuantity": 75,
+                    "sku": "%s",
+                    "category": "ELECTRONICS",
+                    "status": "ACTIVE",
+                    "version": %d
+                }
+                """.formatted(sku("PROD-UPDATED"), version);
     }
 
     public static String deleteRequest() {
@@ -39,10 +56,71 @@ public final class ProductJsonFixtures {
                     "description": "This product will be deleted",
                     "price": 25.00,
                     "stockQuantity": 10,
-                    "sku": "PROD-DELETE-TEST",
+                    "sku": "%s",
                     "category": "ELECTRONICS",
                     "status": "ACTIVE"
                 }
+                """.formatted(sku("PROD-DELETE"));
+    }
+
+    public static String batch() {
+        return """
+                [
+                    {"name": "Batch Mouse", "price": 19.99, "stockQuantity": 10, "category": "PERIPHERALS"},
+                    {"name": "", "price": 5.00},
+                    {"id": 999999, "name": "Missing Product", "price": 9.99, "version": 0}
+                ]
+                """;
+    }
+
+    public static String versionedBatch(long id) {
+        return """
+                [
+                    {"id": %1$d, "name": "Batch Webcam", "price": 99.99, "version": 0},
+                    {"id": %1$d, "name": "Batch Webcam Again", "price": 109.99, "version": 0},
+                    {"id": %1$d, "name": "Batch Webcam Unversioned", "price": 119.99}
+                ]
+                """.formatted(id);
+    }
+
+    public static String upsertBatch(String keyboardSku, String mouseSku, String keyboardPrice) {
+        return """
+                [
+                    {"name": "Feed Keyboard", "price": %s, "sku": "%s", "category": "PERIPHERALS"},
+                    {"name": "Feed Mouse", "price": 9.99, "sku": "%s", "category": "PERIPHERALS"},
+                    {"name": "Feed Cable", "price": 4.99},
+                    {"name": "Feed Keyboard Copy", "price": 1.00, "sku": "%s"}
+                ]
+                """.formatted(keyboardPrice, keyboardSku, mouseSku, keyboardSku);
+    }
+
+    public static String batchNdjson() {
+        return """
+                {"name": "Stream Keyboard", "price": 49.99, "category": "PERIPHERALS"}
+                {"name": "Stream Monitor", "price": 199.99, "category": "ELECTRONICS"}
+                not-json
+                """;
+    }
+
+    public static String importCsv() {
+        return """
+                name,description,price,stock_quantity,sku,category,status
+                Copy Keyboard,"Mechanical, RGB",59.99,10,,PERIPHERALS,ACTIVE
+                Copy Mouse,,19.99,5,,PERIPHERALS,ACTIVE
+                """;
+    }
+
+    public static String importCsvWithInvalidCategory() {
+        return """
+                name,description,price,stock_quantity,sku,category,status
+                Copy Lamp,,29.99,1,,FURNITURE,ACTIVE
+                """;
+    }
+
+    public static String importNdjson() {
+        return """
+                {"name": "Copy Monitor", "price": 249.99, "category": "ELECTRONICS"}
+                {"name": "Copy Stapler", "price": 4.99, "stockQuantity": 100, "category": "OFFICE_SUPPLIES"}
                 """;
     }
 
@@ -17,7 +17,8 @@ public final class ProductRequestFixtures {
                 50,
                 "PROD-MONITOR-001",
                 ProductCategory.ELECTRONICS,
-                ProductStatus.ACTIVE);
+                ProductStatus.ACTIVE,
+                null);
     }
 
     public static ProductRequest withStatus(ProductStatus status) {
@@ -28,12 +29,14 @@ public final class ProductRequestFixtures {
                 100,
                 "PROD-TEST-001",
                 ProductCategory.ELECTRONICS,
-                status);
+                status,
+                null);
     }
 
     public static ProductRequest minimal() {
         return new ProductRequest(
-                "Minimal Product", null, new BigDecimal("9.99"), null, null, null, ProductStatus.ACTIVE);
+                "Minimal Product", null, new BigDecimal("9.99"), null, null, null, ProductStatus.ACTIVE,
+                null);
     }
 
     public static ProductRequest withTooLongName() {
@@ -44,7 +47,8 @@ public final class ProductRequestFixtures {
                 100,
                 "PROD-TEST-001",
                 ProductCategory.ELECTRONICS,
-                ProductStatus.ACTIVE);
+                ProductStatus.ACTIVE,
+                null);
     }
 
     public static ProductRequest withEmptyName() {
@@ -55,7 +59,8 @@ public final class ProductRequestFixtures {
                 100,
                 "PROD-TEST-001",
                 ProductCategory.ELECTRONICS,
-                ProductStatus.ACTIVE);
+                ProductStatus.ACTIVE,
+                null);
     }
 
     public static ProductRequest withNegativePrice() {
@@ -66,7 +71,8 @@ public final class ProductRequestFixtures {
                 100,
                 "PROD-TEST-001",
                 ProductCategory.ELECTRONICS,
-                ProductStatus.ACTIVE);
+                ProductStatus.ACTIVE,
+                null);
     }
 
     public static ProductRequest withZeroPrice() {
@@ -77,7 +83,8 @@ public final class ProductRequestFixtures {
                 100,
                 "PROD-TEST-001",
                 ProductCategory.ELECTRONICS,
-                ProductStatus.ACTIVE);
+                ProductStatus.ACTIVE,
+                null);
     }
 
     public static ProductRequest withExcessivePrice() {
@@ -88,7 +95,8 @@ public final class ProductRequestFixtures {
                 100,
                 "PROD-TEST-001",
                 ProductCategory.ELECTRONICS,
-                ProductStatus.ACTIVE);
+                ProductStatus.ACTIVE,
+                null);
     }
 
     public static ProductRequest withNegativeStock() {
@@ -99,7 +107,8 @@ public final class ProductRequestFixtures {
                 -1,
                 "PROD-TEST-001",
                 ProductCategory.ELECTRONICS,
-                ProductStatus.ACTIVE);
+                ProductStatus.ACTIVE,
+                null);
     }
 
     public static ProductRequest withTooLongSku() {
@@ -110,7 +119,8 @@ public final class ProductRequestFixtures {
                 100,
                 "A".repeat(51),
                 ProductCategory.ELECTRONICS,
-                ProductStatus.ACTIVE);
+                ProductStatus.ACTIVE,
+                null);
     }
 
     public static ProductRequest withTooLongDescription() {
@@ -121,6 +131,7 @@ public final class ProductRequestFixtures {
                 100,
                 "PROD-TEST-001",
                 ProductCategory.ELECTRONICS,
-                ProductStatus.ACTIVE);
+                ProductStatus.ACTIVE,
+                null);
     }
 }
@@ -0,0 +1,121 @@
+package io.github.mm.flyway.product.internal;
+
+import static io.github.mm.flyway.product.fixtures.ProductFixtures.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.mm.flyway.infrastructure.SystemClock;
+import io.github.mm.flyway.product.domain.Product;
+import io.github.mm.flyway.product.internal.config.ProductProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Product Cache Tests")
+class ProductCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private Instant now;
+    private ProductCache cache;
+
+    @BeforeEach
+    void setUp() {
+        now = Instant.parse("2024-11-26T12:00:00Z");
+        var clock = new SystemClock() {
+            @Override
+            public Instant now() {
+                return now;
+            }
+        };
+        var properties = new ProductProperties(
+                null, null, null, new ProductProperties.Cache(2, Duration.ofMinutes(5)), null, null);
+        cache = new ProductCache(clock, properties, registry);
+    }
+
+    @Test
+    @DisplayName("Should serve cached product until TTL expires")
+    void shouldServeCachedProductUntilTtlExpires() {
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+
+        now = now.plus(Duration.ofMinutes(6));
+        cache.get(1L, this::load);
+
+        assertThat(loads).hasValue(2);
+        assertThat(count("cache.gets", "hit")).isEqualTo(1);
+        assertThat(count("cache.gets", "miss")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should hold at most max-size products")
+    void shouldHoldAtMostMaxSizeProducts() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(3L, this::load);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(registry.get("cache.evictions").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reload product after eviction")
+    void shouldReloadProductAfterEviction() {
+        cache.get(1L, this::load);
+
+        cache.evict(1L);
+        cache.get(1L, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache missing products")
+    void shouldNotCacheMissingProducts() {
+        cache.get(1L, id -> Optional.empty());
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not cache a product loaded before a concurrent eviction")
+    void shouldNotCacheProductLoadedBeforeConcurrentEviction() throws Exception {
+        var loading = new CountDownLatch(1);
+        var evicting = new CountDownLatch(1);
+        var reader = Thread.ofVirtual().start(() -> cache.get(1L, id -> {
+            loading.countDown();
+            awaitQuietly(evicting);
+            return load(id);
+        }));
+        loading.await();
+
+        var evictor = Thread.ofVirtual().start(() -> cache.evict(1L));
+        evicting.countDown();
+        reader.join();
+        evictor.join();
+
+        assertThat(cache.size()).isZero();
+    }
+
+    private Optional<Product> load(Long id) {
+        loads.incrementAndGet();
+        return Optional.of(withId(laptop(), id));
+    }
+
+    private double count(String name, String result) {
+        return registry.get(name).tag("result", result).functionCounter().count();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.mm.flyway.product.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.mm.flyway.infrastructure.SystemClock;
+import io.github.mm.flyway.product.internal.config.ProductProperties;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Product Count Cache Tests")
+class ProductCountCacheTest {
+
+    private final AtomicLong loads = new AtomicLong();
+    private Instant now;
+    private ProductCountCache cache;
+
+    @BeforeEach
+    void setUp() {
+        now = Instant.parse("2024-11-26T12:00:00Z");
+        var clock = new SystemClock() {
+            @Override
+            public Instant now() {
+                return now;
+            }
+        };
+        cache = new ProductCountCache(
+                clock,
+                new ProductProperties(
+                        new ProductProperties.Count(Duration.ofSeconds(30)), null, null, null, null, null));
+    }
+
+    @Test
+    @DisplayName("Should serve cached count until TTL expires")
+    void shouldServeCachedCountUntilTtlExpires() {
+        assertThat(cache.get(loads::incrementAndGet)).isEqualTo(1);
+        assertThat(cache.get(loads::incrementAndGet)).isEqualTo(1);
+
+        now = now.plusSeconds(31);
+
+        assertThat(cache.get(loads::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reload count after invalidation")
+    void shouldReloadCountAfterInvalidation() {
+        assertThat(cache.get(loads::incrementAndGet)).isEqualTo(1);
+
+        cache.invalidate();
+
+        assertThat(cache.get(loads::incrementAndGet)).isEqualTo(2);
+    }
+}
@@ -4,8 +4,10 @@ import static io.github.mm.flyway.product.fixtures.ProductFixtures.*;
 import static io.github.mm.flyway.product.fixtures.ProductRequestFixtures.*;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.github.mm.flyway.product.domain.Product;
 import io.github.mm.flyway.product.domain.ProductCategory;
 import io.github.mm.flyway.product.domain.ProductStatus;
+import java.math.BigDecimal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -93,4 +95,27 @@ class ProductMapperTest {
         var productWithId = mapper.toEntity(1L, null);
         assertThat(productWithId).isNull();
     }
+
+    @Test
+    @DisplayName("Should quote CSV values containing separators")
+    void shouldQuoteCsvValuesContainingSeparators() {
+        var product = new Product(
+                1L,
+                "Laptop",
+                "Fast, \"thin\" laptop",
+                new BigDecimal("1299.99"),
+                50,
+                null,
+                ProductCategory.ELECTRONICS,
+                ProductStatus.ACTIVE,
+                null,
+                null,
+                null,
+                null,
+                null);
+
+        var row = mapper.toCsvRow(product);
+
+        assertThat(row).isEqualTo("1,Laptop,\"Fast, \"\"thin\"\" laptop\",1299.99,50,,ELECTRONICS,ACTIVE,,");
+    }
 }
@@ -0,0 +1,29 @@
+package io.github.mm.flyway.product.outbox;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class InMemoryProductChangeSink implements ProductChangeSink {
+
+    private final List<ProductChange> changes = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean failNext = new AtomicBoolean();
+
+    @Override
+    public void publish(List<ProductChange> batch) {
+        if (failNext.getAndSet(false)) {
+            throw new IllegalStateException("Sink unavailable");
+        }
+        changes.addAll(batch);
+    }
+
+    public List<ProductChange> changesOf(Long productId) {
+        return changes.stream()
+                .filter(change -> change.productId().equals(productId))
+                .toList();
+    }
+
+    public void failNextPublish() {
+        failNext.set(true);
+    }
+}
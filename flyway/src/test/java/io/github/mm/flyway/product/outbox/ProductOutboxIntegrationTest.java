@@ -0,0 +1,120 @@
+package io.github.mm.flyway.product.outbox;
+
+import static io.github.mm.flyway.product.fixtures.ProductFixtures.laptop;
+import static io.github.mm.flyway.product.fixtures.ProductFixtures.mouse;
+import static io.github.mm.flyway.product.fixtures.ProductFixtures.withId;
+import static io.github.mm.flyway.product.fixtures.ProductJsonFixtures.importCsv;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.mm.flyway.product.ProductBatchService;
+import io.github.mm.flyway.product.ProductService;
+import io.github.mm.flyway.test.SpringBootIntegrationTest;
+import java.io.StringReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootIntegrationTest
+@TestPropertySource(properties = "mm.products.outbox.poll-interval=1h") // relayed by hand
+@DisplayName("Product Outbox Integration Tests")
+class ProductOutboxIntegrationTest {
+
+    @Autowired
+    private ProductService service;
+
+    @Autowired
+    private ProductBatchService batchService;
+
+    @Autowired
+    private ProductOutboxRelay relay;
+
+    @Autowired
+    private InMemoryProductChangeSink sink;
+
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Test
+    @DisplayName("Should relay create, update and delete of a product in order")
+    void shouldRelayChangesInOrder() {
+        var created = service.create(laptop());
+        service.update(created.id(), withId(created, created.id()));
+        service.deleteById(created.id());
+
+        relay.relayPending();
+
+        var changes = sink.changesOf(created.id());
+        assertThat(changes)
+                .extracting(ProductChange::type)
+                .containsExactly(ProductChangeType.CREATED, ProductChangeType.UPDATED, ProductChangeType.DELETED);
+        assertThat(changes).extracting(ProductChange::sequence).isSorted();
+        assertThat(changes.getFirst().payload()).contains(created.sku());
+        assertThat(pendingChanges(created.id())).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep changes in the outbox when the sink fails")
+    void shouldRedeliverWhenSinkFails() {
+        var created = service.create(mouse());
+        sink.failNextPublish();
+
+        assertThatThrownBy(relay::relayPending).isInstanceOf(IllegalStateException.class);
+        assertThat(pendingChanges(created.id())).isEqualTo(1);
+
+        relay.relayPending();
+
+        assertThat(sink.changesOf(created.id()))
+                .extracting(ProductChange::type)
+                .containsExactly(ProductChangeType.CREATED);
+        assertThat(pendingChanges(created.id())).isZero();
+    }
+
+    @Test
+    @DisplayName("Should relay a change for every product imported via COPY")
+    void shouldRelayCopyImports() {
+        var lastId = jdbcClient
+                .sql("SELECT coalesce(max(id), 0) FROM products")
+                .query(Long.class)
+                .single();
+
+        batchService.copyCsv(new StringReader(importCsv()), true);
+        var imported = jdbcClient
+                .sql("SELECT id FROM products WHERE id > :lastId ORDER BY id")
+                .param("lastId", lastId)
+                .query(Long.class)
+                .list();
+
+        relay.relayPending();
+
+        assertThat(imported).hasSize(2);
+        assertThat(imported)
+                .allSatisfy(id -> assertThat(sink.changesOf(id))
+                        .extracting(ProductChange::type)
+                        .containsExactly(ProductChangeType.CREATED));
+        assertThat(sink.changesOf(imported.getFirst()).getFirst().payload())
+                .contains("Copy Keyboard", "stockQuantity")
+                .doesNotContain("created_by");
+    }
+
+    private long pendingChanges(Long productId) {
+        return jdbcClient
+                .sql("SELECT count(*) FROM product_outbox WHERE product_id = :id")
+                .param("id", productId)
+                .query(Long.class)
+                .single();
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class SinkConfiguration {
+
+        @Bean
+        InMemoryProductChangeSink inMemoryProductChangeSink() {
+            return new InMemoryProductChangeSink();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.mm.flyway.product.repository;
+
+import static io.github.mm.flyway.product.fixtures.ProductFixtures.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+@DisplayName("Product Keyset Tests")
+class ProductKeysetTest {
+
+    @Test
+    @DisplayName("Should append id as tiebreaker to the requested sort keys")
+    void shouldAppendIdTiebreaker() {
+        var keyset = ProductKeyset.of(Sort.by(Sort.Direction.DESC, "price"));
+
+        assertThat(keyset.keys()).containsExactly(ProductSortKey.PRICE, ProductSortKey.ID);
+        assertThat(keyset.direction()).isEqualTo(Sort.Direction.DESC);
+        assertThat(keyset.isFirstPage()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should round-trip a composite cursor through its encoded form")
+    void shouldRoundTripCursor() {
+        var keyset = ProductKeyset.of(Sort.by("name", "price")).after(withId(laptop(), 42L));
+
+        var decoded = ProductKeyset.decode(keyset.encode());
+
+        assertThat(decoded.keys()).containsExactly(ProductSortKey.NAME, ProductSortKey.PRICE, ProductSortKey.ID);
+        assertThat(decoded.direction()).isEqualTo(Sort.Direction.ASC);
+        assertThat(decoded.values()).containsExactly("Laptop", new BigDecimal("1299.99"), 42L);
+    }
+
+    @Test
+    @DisplayName("Should accept legacy numeric id cursors")
+    void shouldAcceptLegacyIdCursor() {
+        var decoded = ProductKeyset.decode("100");
+
+        assertThat(decoded.keys()).containsExactly(ProductSortKey.ID);
+        assertThat(decoded.values()).containsExactly(100L);
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported sort properties and mixed directions")
+    void shouldRejectInvalidSort() {
+        assertThatThrownBy(() -> ProductKeyset.of(Sort.by("description"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ProductKeyset.of(Sort.by(Sort.Order.asc("name"), Sort.Order.desc("price"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject tampered cursors")
+    void shouldRejectTamperedCursor() {
+        assertThatThrownBy(() -> ProductKeyset.decode("not-a-cursor")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -2,15 +2,24 @@ package io.github.mm.flyway.product.repository;
 
 import static io.github.mm.flyway.product.fixtures.ProductFixtures.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.github.mm.flyway.product.domain.Product;
 import io.github.mm.flyway.product.domain.ProductCategory;
 import io.github.mm.flyway.product.domain.ProductStatus;
+import io.github.mm.flyway.product.internal.ProductPurger;
 import io.github.mm.flyway.test.SpringBootIntegrationTest;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @SpringBootIntegrationTest
 @DisplayName("Product Repository Integration Tests")
@@ -19,6 +28,15 @@ class ProductRepositoryIntegrationTest {
     @Autowired
     private ProductRepository repository;
 
+    @Autowired
+    private JdbcClient jdbcClient;
+
+    @Autowired
+    private ProductPurger purger;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @Test
     @DisplayName("Should find product by status")
     void shouldFindProductByStatus() {
@@ -66,4 +84,109 @@ class ProductRepositoryIntegrationTest {
         var deletedProduct = repository.findById(productId);
         assertThat(deletedProduct).isEmpty();
     }
+
+    @Test
+    @DisplayName("Should hide a soft-deleted product until it is purged")
+    void shouldSoftDeleteAndPurgeProduct() {
+        var productId = repository.save(webcam()).id();
+
+        assertThat(repository.softDeleteById(productId, Instant.now())).isTrue();
+
+        assertThat(repository.findById(productId)).isEmpty();
+        assertThat(repository.softDeleteById(productId, Instant.now())).isFalse();
+        assertThat(countRows(productId)).isEqualTo(1);
+
+        purger.purgeDeletedBefore(Instant.now().plusSeconds(1));
+
+        assertThat(countRows(productId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load tags for several products in one query")
+    void shouldLoadTagsForSeveralProducts() {
+        var laptop = repository.save(laptop());
+        var mouse = repository.save(mouse());
+        var untagged = repository.save(monitor());
+        tag(laptop, "portable", "professional");
+        tag(mouse, "wireless");
+
+        var tags = repository.findTagNames(List.of(laptop.id(), mouse.id(), untagged.id()));
+
+        assertThat(tags.get(laptop.id())).containsExactly("portable", "professional");
+        assertThat(tags.get(mouse.id())).containsExactly("wireless");
+        assertThat(tags).doesNotContainKey(untagged.id());
+    }
+
+    @Test
+    @DisplayName("Should find products carrying all requested tags")
+    void shouldFindProductsCarryingAllRequestedTags() {
+        var laptop = repository.save(laptop());
+        var mouse = repository.save(mouse());
+        tag(laptop, "gaming", "budget-friendly");
+        tag(mouse, "gaming");
+
+        var tags = List.of("gaming", "budget-friendly");
+        var tagged = repository.findPageContentByTags(tags, PageRequest.of(0, 100, Sort.by("id")));
+
+        assertThat(tagged).extracting(Product::id).contains(laptop.id()).doesNotContain(mouse.id());
+        assertThat(repository.countByTags(tags)).isEqualTo(tagged.size());
+        assertThat(repository.estimateCountByTags(tags)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should sort tagged products by any property the unfiltered list sorts by")
+    void shouldSortTaggedProductsByMappedColumn() {
+        var laptop = repository.save(laptop());
+        var mouse = repository.save(mouse());
+        tag(laptop, "portable");
+        tag(mouse, "portable");
+        var byStock = PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "stockQuantity"));
+
+        var tagged = repository.findPageContentByTags(List.of("portable"), byStock);
+
+        assertThat(tagged)
+                .extracting(Product::stockQuantity)
+                .isSortedAccordingTo(Comparator.nullsFirst(Comparator.<Integer>reverseOrder())); // PostgreSQL's DESC
+        assertThatThrownBy(() -> repository.findPageContentByTags(
+                        List.of("portable"), PageRequest.of(0, 100, Sort.by("name; DROP TABLE products"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should match search terms through the expression index")
+    void shouldUseSearchExpressionIndex() {
+        repository.save(laptop());
+        var search = ProductSearchRepositoryImpl.SEARCH_SQL.formatted(ProductSearchRepositoryImpl.SEARCH_VECTOR, "");
+
+        var plan = transactionTemplate.execute(status -> {
+            // a handful of rows is cheaper to scan sequentially; without the index the plan would still be a Seq Scan
+            jdbcClient.sql("SET LOCAL enable_seqscan = off").update();
+            return jdbcClient
+                    .sql("EXPLAIN " + search)
+                    .param("query", ProductSearch.of("laptop").tsQuery())
+                    .param("limit", 21)
+                    .query(String.class)
+                    .list();
+        });
+
+        assertThat(String.join("\n", plan)).contains("idx_products_search").doesNotContain("Seq Scan");
+    }
+
+    private void tag(Product product, String... tags) {
+        jdbcClient
+                .sql("""
+                        INSERT INTO product_tags (product_id, tag_id)
+                        SELECT :productId, id FROM tags WHERE name IN (:tags)""")
+                .param("productId", product.id())
+                .param("tags", List.of(tags))
+                .update();
+    }
+
+    private long countRows(Long productId) {
+        return jdbcClient
+                .sql("SELECT count(*) FROM products WHERE id = :id")
+                .param("id", productId)
+                .query(Long.class)
+                .single();
+    }
 }
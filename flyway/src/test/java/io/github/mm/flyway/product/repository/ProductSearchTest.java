@@ -0,0 +1,56 @@
+package io.github.mm.flyway.product.repository;
+
+import static io.github.mm.flyway.product.fixtures.ProductFixtures.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.mm.flyway.product.domain.ProductSearchHit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Product Search Tests")
+class ProductSearchTest {
+
+    @Test
+    @DisplayName("Should turn every word into a prefix term")
+    void shouldTurnEveryWordIntoPrefixTerm() {
+        var search = ProductSearch.of("  Wire-less KEY ");
+
+        assertThat(search.tsQuery()).isEqualTo("wire:* & less:* & key:*");
+        assertThat(search.isFirstPage()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should drop tsquery operators from user input")
+    void shouldDropTsQueryOperators() {
+        var search = ProductSearch.of("mouse & !(laptop | 'x'):*");
+
+        assertThat(search.tsQuery()).isEqualTo("mouse:* & laptop:* & x:*");
+    }
+
+    @Test
+    @DisplayName("Should reject a query without words")
+    void shouldRejectQueryWithoutWords() {
+        assertThatThrownBy(() -> ProductSearch.of("!&|")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should resume after the last hit")
+    void shouldResumeAfterLastHit() {
+        var cursor = ProductSearch.cursorAfter(new ProductSearchHit(withId(laptop(), 7L), 0.0607927f));
+
+        var search = ProductSearch.of("laptop", cursor);
+
+        assertThat(search.rank()).isEqualTo(0.0607927f);
+        assertThat(search.id()).isEqualTo(7L);
+        assertThat(search.isFirstPage()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursor")
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> ProductSearch.of("laptop", "not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor format");
+    }
+}
@@ -1,8 +1,16 @@
 package io.github.mm.flyway.product.rest;
 
+import static io.github.mm.flyway.product.fixtures.ProductFixtures.sku;
 import static io.github.mm.flyway.product.fixtures.ProductJsonFixtures.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -11,6 +19,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.jayway.jsonpath.JsonPath;
+import io.github.mm.flyway.product.internal.ProductMapper;
+import io.github.mm.flyway.product.internal.ProductStatsRefresher;
 import io.github.mm.flyway.test.SpringBootIntegrationTest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -27,6 +37,9 @@ class ProductApiIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ProductStatsRefresher statsRefresher;
+
     @Test
     @DisplayName("Should create new product with request DTO")
     void shouldCreateNewProduct() throws Exception {
@@ -39,12 +52,28 @@ class ProductApiIntegrationTest {
                 .andExpect(jsonPath("$.description", equalTo("HD Webcam with microphone")))
                 .andExpect(jsonPath("$.price", equalTo(89.99)))
                 .andExpect(jsonPath("$.stockQuantity", equalTo(30)))
-                .andExpect(jsonPath("$.sku", equalTo("PROD-WEBCAM-001")))
+                .andExpect(jsonPath("$.sku", startsWith("PROD-WEBCAM-")))
                 .andExpect(jsonPath("$.category", equalTo("ELECTRONICS")))
                 .andExpect(jsonPath("$.status", equalTo("ACTIVE")))
                 .andExpect(jsonPath("$.createdAt", notNullValue()));
     }
 
+    @Test
+    @DisplayName("Should return 409 without database details for a duplicate SKU")
+    void shouldReturnConflictForDuplicateSku() throws Exception {
+        var request = webcam();
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.detail", not(containsString("uq_products_sku"))));
+    }
+
     @Test
     @DisplayName("Should update existing product with request DTO")
     void shouldUpdateExistingProduct() throws Exception {
@@ -60,7 +89,7 @@ class ProductApiIntegrationTest {
 
         mockMvc.perform(put("/api/products/{id}", productId)
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(updateRequest()))
+                        .content(updateRequest(0)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id", equalTo(productId)))
                 .andExpect(jsonPath("$.name", equalTo("Updated Product")))
@@ -71,6 +100,95 @@ class ProductApiIntegrationTest {
         mockMvc.perform(delete("/api/products/{id}", productId)).andExpect(status().isNoContent());
     }
 
+    @Test
+    @DisplayName("Should increment version on update and reject a stale version")
+    void shouldRejectStaleVersionOnUpdate() throws Exception {
+        String createResponse = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(webcam()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.version", equalTo(0)))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Integer productId = JsonPath.parse(createResponse).read("$.id");
+
+        mockMvc.perform(put("/api/products/{id}", productId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateRequest(0)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", equalTo(1)));
+
+        mockMvc.perform(put("/api/products/{id}", productId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateRequest(0)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.title", equalTo("Conflict")));
+
+        mockMvc.perform(put("/api/products/{id}", Integer.MAX_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateRequest(0)))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(delete("/api/products/{id}", productId)).andExpect(status().isNoContent());
+    }
+
+    @Test
+    @DisplayName("Should reject an update without a version")
+    void shouldRejectUpdateWithoutVersion() throws Exception {
+        String createResponse = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(webcam()))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Integer productId = JsonPath.parse(createResponse).read("$.id");
+
+        mockMvc.perform(put("/api/products/{id}", productId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateRequestWithoutVersion()))
+                .andExpect(status().isPreconditionRequired())
+                .andExpect(jsonPath("$.title", equalTo("Precondition Required")));
+
+        mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", equalTo("Webcam")))
+                .andExpect(jsonPath("$.version", equalTo(0)));
+    }
+
+    @Test
+    @DisplayName("Should not serve a cached product after update")
+    void shouldNotServeCachedProductAfterUpdate() throws Exception {
+        String createResponse = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(webcam()))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Integer productId = JsonPath.parse(createResponse).read("$.id");
+
+        mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", equalTo("Webcam")));
+
+        mockMvc.perform(put("/api/products/{id}", productId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateRequest(0)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", equalTo("Updated Product")));
+
+        mockMvc.perform(delete("/api/products/{id}", productId)).andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/products/{id}", productId)).andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Should delete product")
     void shouldDeleteProduct() throws Exception {
@@ -89,6 +207,246 @@ class ProductApiIntegrationTest {
         mockMvc.perform(get("/api/products/{id}", productId)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Should list products with estimated total count")
+    void shouldListProductsWithEstimatedTotalCount() throws Exception {
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(webcam()))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/products").param("size", "1").param("count", "ESTIMATED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.page.totalElements", notNullValue()));
+    }
+
+    @Test
+    @DisplayName("Should list products with cached total count")
+    void shouldListProductsWithCachedTotalCount() throws Exception {
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(webcam()))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/products").param("size", "1").param("count", "CACHED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.page.totalElements", greaterThanOrEqualTo(1)));
+    }
+
+    @Test
+    @DisplayName("Should import JSON batch with per-item results")
+    void shouldImportJsonBatch() throws Exception {
+        mockMvc.perform(post("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", equalTo(3)))
+                .andExpect(jsonPath("$.succeeded", equalTo(1)))
+                .andExpect(jsonPath("$.items[0].status", equalTo("CREATED")))
+                .andExpect(jsonPath("$.items[0].id", notNullValue()))
+                .andExpect(jsonPath("$.items[1].status", equalTo("INVALID")))
+                .andExpect(jsonPath("$.items[2].status", equalTo("NOT_FOUND")));
+    }
+
+    @Test
+    @DisplayName("Should apply the optimistic lock to batch updates")
+    void shouldApplyOptimisticLockToBatchUpdates() throws Exception {
+        String createResponse = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(webcam()))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Integer productId = JsonPath.parse(createResponse).read("$.id");
+
+        // the second item still carries version 0, which the first item has just moved past
+        mockMvc.perform(post("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(versionedBatch(productId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", equalTo(1)))
+                .andExpect(jsonPath("$.items[0].status", equalTo("UPDATED")))
+                .andExpect(jsonPath("$.items[1].status", equalTo("CONFLICT")))
+                .andExpect(jsonPath("$.items[2].status", equalTo("INVALID")));
+
+        mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name", equalTo("Batch Webcam")))
+                .andExpect(jsonPath("$.version", equalTo(1)));
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON batch stream with per-item results")
+    void shouldImportNdjsonBatch() throws Exception {
+        mockMvc.perform(post("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(batchNdjson()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", equalTo(3)))
+                .andExpect(jsonPath("$.succeeded", equalTo(2)))
+                .andExpect(jsonPath("$.items[2].status", equalTo("INVALID")));
+    }
+
+    @Test
+    @DisplayName("Should upsert batch by SKU and skip unchanged rows")
+    void shouldUpsertBatchBySku() throws Exception {
+        var keyboardSku = sku("FEED-KEYBOARD");
+        var mouseSku = sku("FEED-MOUSE");
+
+        String created = mockMvc.perform(put("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(upsertBatch(keyboardSku, mouseSku, "49.99")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", equalTo(4)))
+                .andExpect(jsonPath("$.succeeded", equalTo(2)))
+                .andExpect(jsonPath("$.items[0].status", equalTo("CREATED")))
+                .andExpect(jsonPath("$.items[1].status", equalTo("CREATED")))
+                .andExpect(jsonPath("$.items[2].status", equalTo("INVALID")))
+                .andExpect(jsonPath("$.items[3].status", equalTo("INVALID")))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Integer keyboardId = JsonPath.parse(created).read("$.items[0].id");
+        Integer mouseId = JsonPath.parse(created).read("$.items[1].id");
+
+        mockMvc.perform(put("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(upsertBatch(keyboardSku, mouseSku, "59.99")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].status", equalTo("UPDATED")))
+                .andExpect(jsonPath("$.items[0].id", equalTo(keyboardId)))
+                .andExpect(jsonPath("$.items[1].status", equalTo("UNCHANGED")))
+                .andExpect(jsonPath("$.items[1].id", equalTo(mouseId)));
+
+        mockMvc.perform(get("/api/products/{id}", keyboardId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price", equalTo(59.99)))
+                .andExpect(jsonPath("$.version", equalTo(1)));
+        mockMvc.perform(get("/api/products/{id}", mouseId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", equalTo(0)))
+                .andExpect(jsonPath("$.updatedAt", notNullValue())); // filled on insert, as on create
+    }
+
+    @Test
+    @DisplayName("Should import CSV via COPY")
+    void shouldImportCsvViaCopy() throws Exception {
+        mockMvc.perform(post("/api/products/import")
+                        .contentType("text/csv")
+                        .content(importCsv()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows", equalTo(2)))
+                .andExpect(jsonPath("$.rowsPerSecond", notNullValue()));
+    }
+
+    @Test
+    @DisplayName("Should import NDJSON via COPY")
+    void shouldImportNdjsonViaCopy() throws Exception {
+        mockMvc.perform(post("/api/products/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(importNdjson()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows", equalTo(2)));
+    }
+
+    @Test
+    @DisplayName("Should reject COPY import violating a constraint")
+    void shouldRejectCopyImportViolatingConstraint() throws Exception {
+        mockMvc.perform(post("/api/products/import")
+                        .contentType("text/csv")
+                        .content(importCsvWithInvalidCategory()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail", not(containsString("chk_products_category"))));
+    }
+
+    @Test
+    @DisplayName("Should export products as NDJSON")
+    void shouldExportProductsAsNdjson() throws Exception {
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(webcam()))
+                .andExpect(status().isCreated());
+
+        var body = mockMvc.perform(get("/api/products/export").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var lines = body.lines().toList();
+        assertThat(lines).isNotEmpty();
+        assertThat(lines).allSatisfy(line -> assertThat(line).startsWith("{").contains("\"id\":"));
+    }
+
+    @Test
+    @DisplayName("Should export products as CSV with header")
+    void shouldExportProductsAsCsv() throws Exception {
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(webcam()))
+                .andExpect(status().isCreated());
+
+        var body = mockMvc.perform(get("/api/products/export").accept("text/csv"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(body.lines().findFirst()).hasValue(ProductMapper.CSV_HEADER);
+        assertThat(body).contains(",Webcam,");
+    }
+
+    @Test
+    @DisplayName("Should aggregate product stats live and from the refreshed snapshot")
+    void shouldAggregateProductStats() throws Exception {
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(webcam()))
+                .andExpect(status().isCreated());
+
+        var live = mockMvc.perform(get("/api/products/stats").param("source", "LIVE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.key", equalTo("ALL")))
+                .andExpect(jsonPath("$.byCategory[?(@.key == 'ELECTRONICS')].count", hasSize(1)))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Integer liveCount = JsonPath.parse(live).read("$.total.count");
+        assertThat(liveCount).isPositive();
+
+        statsRefresher.refresh();
+
+        mockMvc.perform(get("/api/products/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.count", equalTo(liveCount)))
+                .andExpect(jsonPath("$.byStatus[?(@.key == 'ACTIVE')].count", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("Should search products by word prefix ranked by relevance")
+    void shouldSearchProductsByWordPrefix() throws Exception {
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(webcam()))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/products/search").param("q", "webc micro").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name", equalTo("Webcam")))
+                .andExpect(jsonPath("$.slice.size", equalTo(5)));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for empty search query")
+    void shouldReturn400ForEmptySearchQuery() throws Exception {
+        mockMvc.perform(get("/api/products/search").param("q", "  ")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should return 400 for invalid product request")
     void shouldReturn400ForInvalidRequest() throws Exception {
@@ -113,4 +471,40 @@ class ProductApiIntegrationTest {
                 .andExpect(jsonPath("$.slice", notNullValue()))
                 .andExpect(jsonPath("$.slice.hasNext", notNullValue()));
     }
+
+    @Test
+    @DisplayName("Should scroll products by price descending with keyset cursor")
+    void shouldScrollProductsByPriceDescending() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/products")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(webcam()))
+                    .andExpect(status().isCreated());
+        }
+
+        String firstSlice = mockMvc.perform(get("/api/products/scroll")
+                        .param("size", "2")
+                        .param("sort", "price,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.slice.hasNext", equalTo(true)))
+                .andExpect(jsonPath("$.slice.nextCursor", notNullValue()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String nextCursor = JsonPath.parse(firstSlice).read("$.slice.nextCursor");
+        Double lastPrice = JsonPath.parse(firstSlice).read("$.content[1].price");
+
+        mockMvc.perform(get("/api/products/scroll").param("size", "2").param("nextCursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].price", lessThanOrEqualTo(lastPrice)));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for invalid scroll cursor")
+    void shouldReturn400ForInvalidScrollCursor() throws Exception {
+        mockMvc.perform(get("/api/products/scroll").param("nextCursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
 }
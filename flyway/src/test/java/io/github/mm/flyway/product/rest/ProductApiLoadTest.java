@@ -0,0 +1,115 @@
+package io.github.mm.flyway.product.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.mm.flyway.config.TestcontainersConfiguration;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+// Opt-in: ./mvnw test -pl flyway -Dtest=ProductApiLoadTest -Dload-test=true
+// Compares Tomcat on platform threads with virtual threads at 1k and 10k concurrent list requests. Both accept every
+// connection at once, so the run compares how requests are executed, not how many sockets Tomcat admits. Each run
+// must answer every request with 200; throughput is logged.
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+@DisplayName("Product Api Load Tests")
+class ProductApiLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductApiLoadTest.class);
+
+    @Nested
+    @SpringBootTest(
+            webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {
+                "spring.threads.virtual.enabled=false",
+                "server.tomcat.max-connections=20000",
+                "server.tomcat.accept-count=10000"
+            })
+    @Import(TestcontainersConfiguration.class)
+    @ActiveProfiles("test")
+    @DisplayName("Platform threads")
+    class PlatformThreads extends LoadScenarios {}
+
+    @Nested
+    @SpringBootTest(
+            webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {
+                "spring.threads.virtual.enabled=true",
+                "server.tomcat.max-connections=20000",
+                "server.tomcat.accept-count=10000"
+            })
+    @Import(TestcontainersConfiguration.class)
+    @ActiveProfiles("test")
+    @DisplayName("Virtual threads")
+    class VirtualThreads extends LoadScenarios {}
+
+    abstract static class LoadScenarios {
+
+        @LocalServerPort
+        private int port;
+
+        @ParameterizedTest(name = "{0} concurrent requests")
+        @ValueSource(ints = {1_000, 10_000})
+        @DisplayName("Should answer every concurrent request")
+        void shouldServeConcurrentRequests(int concurrency) throws Exception {
+            var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products?size=20"))
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            var ok = new AtomicInteger();
+            var failed = new AtomicInteger();
+            var start = new CountDownLatch(1);
+
+            long elapsedNanos;
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+                    var client = HttpClient.newBuilder().executor(executor).build()) {
+                var futures = IntStream.range(0, concurrency)
+                        .mapToObj(i -> executor.submit(() -> {
+                            start.await();
+                            try {
+                                var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                                (response.statusCode() == 200 ? ok : failed).incrementAndGet();
+                            } catch (Exception e) {
+                                failed.incrementAndGet();
+                            }
+                            return null;
+                        }))
+                        .toList();
+                var started = System.nanoTime();
+                start.countDown(); // release all requests at once
+                for (var future : futures) {
+                    future.get();
+                }
+                elapsedNanos = System.nanoTime() - started;
+            }
+
+            var seconds = elapsedNanos / 1_000_000_000.0;
+            log.info(
+                    "{}: {} concurrent requests, {} ok, {} failed in {} ms, {} requests/s",
+                    getClass().getSimpleName(),
+                    concurrency,
+                    ok.get(),
+                    failed.get(),
+                    Math.round(seconds * 1000),
+                    Math.round(ok.get() / seconds));
+            assertThat(failed.get()).isZero();
+            assertThat(ok.get()).isEqualTo(concurrency);
+        }
+    }
+}
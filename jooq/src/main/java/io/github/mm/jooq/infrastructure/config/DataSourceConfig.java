@@ -0,0 +1,19 @@
+package io.github.mm.jooq.infrastructure.config;
+
+import io.github.mm.jooq.infrastructure.datasource.ReadReplicaPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties({ReplicaProperties.class, PoolSizingProperties.class})
+public class DataSourceConfig {
+
+    @Bean
+    public static ReadReplicaPostProcessor readReplicaPostProcessor(
+            ObjectProvider<ReplicaProperties> properties, ObjectProvider<MeterRegistry> registry) {
+        return new ReadReplicaPostProcessor(properties, registry);
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.mm.jooq.infrastructure.config;
+
+import org.springframework.boot.jooq.autoconfigure.DefaultConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+public class JooqConfig {
+
+    // IN lists are padded to the next power of two, so a list of 5 and one of 7 ids render the same SQL and share
+    // PgJDBC's server-prepared statement instead of preparing one per list length
+    @Bean
+    public DefaultConfigurationCustomizer jooqSettingsCustomizer() {
+        return configuration -> configuration.settings().withInListPadding(true);
+    }
+}
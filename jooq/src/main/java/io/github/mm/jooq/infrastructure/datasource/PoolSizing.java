@@ -0,0 +1,19 @@
+package io.github.mm.jooq.infrastructure.datasource;
+
+import io.github.mm.jooq.infrastructure.config.PoolSizingProperties;
+
+public record PoolSizing(
+        String pool,
+        PoolSizingProperties.Mode mode,
+        int maximumPoolSize,
+        int active,
+        int idle,
+        int waiting,
+        double inUseP50,
+        double inUseP95,
+        double inUseP99,
+        double waitingP95,
+        double meanConcurrency,
+        double acquireMeanMillis,
+        double acquireMaxMillis,
+        int recommendedSize) {}
@@ -1,15 +1,28 @@
 package io.github.mm.jooq.infrastructure.exception;
 
+import java.sql.SQLException;
 import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    // PostgreSQL SQLSTATE codes
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String CHECK_VIOLATION = "23514";
+    private static final String NOT_NULL_VIOLATION = "23502";
+
     @ExceptionHandler(NotFoundException.class)
     public ProblemDetail handleNotFoundException(NotFoundException ex) {
         var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
@@ -28,6 +41,46 @@ public class GlobalExceptionHandler {
         return problemDetail;
     }
 
+    // constraints on list elements, e.g. List<@Valid CreateProductRequest>
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ProblemDetail handleMethodValidationException(HandlerMethodValidationException ex) {
+        var errors = ex.getAllErrors().stream()
+                .map(MessageSourceResolvable::getDefaultMessage)
+                .collect(Collectors.joining(", "));
+
+        var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, errors);
+        problemDetail.setTitle("Validation Failed");
+        return problemDetail;
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgumentException(IllegalArgumentException ex) {
+        var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+        problemDetail.setTitle("Bad Request");
+        return problemDetail;
+    }
+
+    // the PostgreSQL message names tables, constraints and values, so it is logged and the client gets a fixed detail
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ProblemDetail handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        var cause = ex.getMostSpecificCause();
+        log.warn("Data integrity violation: {}", cause.getMessage());
+        var sqlState = cause instanceof SQLException sqlException ? sqlException.getSQLState() : null;
+        if (UNIQUE_VIOLATION.equals(sqlState)) {
+            var problemDetail = ProblemDetail.forStatusAndDetail(
+                    HttpStatus.CONFLICT, "A product with the same unique value already exists");
+            problemDetail.setTitle("Conflict");
+            return problemDetail;
+        }
+        var problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.BAD_REQUEST,
+                CHECK_VIOLATION.equals(sqlState) || NOT_NULL_VIOLATION.equals(sqlState)
+                        ? "A value is missing or not allowed"
+                        : "The request violates a data constraint");
+        problemDetail.setTitle("Data Integrity Violation");
+        return problemDetail;
+    }
+
     @ExceptionHandler(Exception.class)
     public ProblemDetail handleGenericException(Exception ex) {
         var problemDetail =
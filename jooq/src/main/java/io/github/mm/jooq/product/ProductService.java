@@ -2,14 +2,25 @@ package io.github.mm.jooq.product;
 
 import io.github.mm.jooq.infrastructure.exception.NotFoundException;
 import io.github.mm.jooq.product.internal.ProductMapper;
+import io.github.mm.jooq.product.internal.config.ProductProperties;
 import io.github.mm.jooq.product.repository.ProductRepository;
+import io.github.mm.jooq.product.rest.dto.BatchUpdateProductRequest;
 import io.github.mm.jooq.product.rest.dto.CreateProductRequest;
 import io.github.mm.jooq.product.rest.dto.Product;
 import io.github.mm.jooq.product.rest.dto.ProductStatus;
+import io.github.mm.jooq.product.rest.dto.ProductUpsertResult;
 import io.github.mm.jooq.product.rest.dto.UpdateProductRequest;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Gatherers;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import org.jspecify.annotations.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,10 +30,14 @@ public class ProductService {
 
     private final ProductRepository repository;
     private final ProductMapper mapper;
+    private final int exportFetchSize;
+    private final int batchChunkSize;
 
-    public ProductService(ProductRepository repository, ProductMapper mapper) {
+    public ProductService(ProductRepository repository, ProductMapper mapper, ProductProperties properties) {
         this.repository = repository;
         this.mapper = mapper;
+        this.exportFetchSize = properties.export().fetchSize();
+        this.batchChunkSize = properties.batch().chunkSize();
     }
 
     @Transactional
@@ -30,6 +45,46 @@ public class ProductService {
         return mapper.toProduct(repository.create(request, "system"));
     }
 
+    // one statement per chunk keeps the bind parameter count well below the 32767 PostgreSQL accepts per statement;
+    // all chunks share the transaction, so the batch is created or rejected as a whole
+    @Transactional
+    public List<Product> createProducts(List<CreateProductRequest> requests) {
+        return requests.stream()
+                .gather(Gatherers.windowFixed(batchChunkSize))
+                .flatMap(chunk -> repository.createAll(chunk, "system").stream())
+                .map(mapper::toProduct)
+                .toList();
+    }
+
+    @Transactional
+    public List<Product> updateProducts(List<BatchUpdateProductRequest> requests) {
+        rejectDuplicates(requests.stream().map(BatchUpdateProductRequest::id), "Duplicate product id in request: ");
+        var updated = requests.stream()
+                .gather(Gatherers.windowFixed(batchChunkSize))
+                .flatMap(chunk -> repository.updateAll(chunk, "system").stream())
+                .map(mapper::toProduct)
+                .toList();
+        if (updated.size() < requests.size()) {
+            var found = updated.stream().map(Product::id).collect(Collectors.toSet());
+            var missing = requests.stream()
+                    .map(BatchUpdateProductRequest::id)
+                    .filter(id -> !found.contains(id))
+                    .toList();
+            throw new NotFoundException("Products not found with ids: " + missing); // rolls back the other updates
+        }
+        return updated;
+    }
+
+    @Transactional
+    public List<ProductUpsertResult> upsertProducts(List<CreateProductRequest> requests) {
+        rejectDuplicates(requests.stream().map(CreateProductRequest::sku), "Duplicate SKU in request: ");
+        var upserted = repository.upsertAll(requests, "system");
+        return IntStream.range(0, upserted.size())
+                .mapToObj(i -> new ProductUpsertResult(
+                        i, upserted.get(i).id(), upserted.get(i).sku(), upserted.get(i).status()))
+                .toList();
+    }
+
     public Product getProductById(Long id) {
         return repository
                 .findById(id)
@@ -38,7 +93,31 @@ public class ProductService {
     }
 
     public Page<@NonNull Product> findAll(Pageable pageable, ProductStatus status, String category) {
-        return repository.findAll(pageable, status, category).map(mapper::toProduct);
+        return findAll(pageable, status, category, TotalCountMode.EXACT);
+    }
+
+    public Page<@NonNull Product> findAll(
+            Pageable pageable, ProductStatus status, String category, TotalCountMode countMode) {
+        var page = switch (countMode) {
+            case EXACT -> repository.findAll(pageable, status, category);
+            case WINDOW -> repository.findAllWithWindowCount(pageable, status, category);
+        };
+        return page.map(mapper::toProduct);
+    }
+
+    public Slice<@NonNull Product> findSlice(Pageable pageable, ProductStatus status, String category) {
+        return repository.findSlice(pageable, status, category).map(mapper::toProduct);
+    }
+
+    // the sink is fed while the cursor is open, so it must write synchronously on the calling thread
+    public long exportAll(ProductStatus status, String category, Consumer<Product> sink) {
+        try (var records = repository.streamAll(status, category, exportFetchSize)) {
+            var count = 0L;
+            for (var iterator = records.iterator(); iterator.hasNext(); count++) {
+                sink.accept(mapper.toProduct(iterator.next()));
+            }
+            return count;
+        }
     }
 
     @Transactional
@@ -55,4 +134,11 @@ public class ProductService {
             throw new NotFoundException("Product not found with id: " + id);
         }
     }
+
+    private static <T> void rejectDuplicates(Stream<T> keys, String message) {
+        var seen = new HashSet<T>();
+        keys.filter(key -> !seen.add(key)).findFirst().ifPresent(key -> {
+            throw new IllegalArgumentException(message + key);
+        });
+    }
 }
@@ -0,0 +1,6 @@
+package io.github.mm.jooq.product;
+
+public enum TotalCountMode {
+    EXACT,
+    WINDOW
+}
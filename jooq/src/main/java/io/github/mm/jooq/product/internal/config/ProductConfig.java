@@ -0,0 +1,8 @@
+package io.github.mm.jooq.product.internal.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ProductProperties.class)
+public class ProductConfig {}
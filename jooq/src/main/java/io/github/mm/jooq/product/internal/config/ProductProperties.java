@@ -0,0 +1,11 @@
+package io.github.mm.jooq.product.internal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "mm.products")
+public record ProductProperties(Export export, Batch batch) {
+
+    public record Export(int fetchSize) {}
+
+    public record Batch(int chunkSize) {}
+}
@@ -1,81 +1,328 @@
 package io.github.mm.jooq.product.repository;
 
 import static io.github.mm.jooq.product.generated.tables.Products.PRODUCTS;
+import static org.jooq.impl.DSL.coalesce;
+import static org.jooq.impl.DSL.excluded;
+import static org.jooq.impl.DSL.lower;
+import static org.jooq.impl.DSL.param;
+import static org.jooq.impl.DSL.row;
+import static org.jooq.impl.DSL.val;
+import static org.jooq.impl.DSL.values;
 
 import io.github.mm.jooq.product.generated.tables.records.ProductsRecord;
+import io.github.mm.jooq.product.rest.dto.BatchUpdateProductRequest;
 import io.github.mm.jooq.product.rest.dto.CreateProductRequest;
 import io.github.mm.jooq.product.rest.dto.ProductStatus;
 import io.github.mm.jooq.product.rest.dto.UpdateProductRequest;
+import io.github.mm.jooq.product.rest.dto.UpsertStatus;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.ResultQuery;
+import org.jooq.RowN;
+import org.jooq.SelectConditionStep;
 import org.jooq.impl.DSL;
 import org.jspecify.annotations.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public class ProductRepository {
 
+    // xmax is 0 only on a freshly inserted tuple, which tells inserts from updates in RETURNING
+    private static final Field<Boolean> INSERTED = DSL.field("xmax = 0", Boolean.class);
+
+    private static final Field<Integer> TOTAL = DSL.count().over().as("total");
+    private static final Field<?>[] WINDOW_FIELDS =
+            Stream.concat(Stream.of(PRODUCTS.fields()), Stream.of(TOTAL)).toArray(Field<?>[]::new);
+
+    private static final String ID = "id";
+    private static final String STATUS = "status";
+    private static final String CATEGORY = "category";
+    private static final String LIMIT = "limit";
+    private static final String OFFSET = "offset";
+
+    private static final String CHANGES = "changes";
+    private static final List<Field<?>> UPDATABLE = List.of(
+            PRODUCTS.ID,
+            PRODUCTS.NAME,
+            PRODUCTS.DESCRIPTION,
+            PRODUCTS.PRICE,
+            PRODUCTS.STOCK_QUANTITY,
+            PRODUCTS.SKU,
+            PRODUCTS.CATEGORY,
+            PRODUCTS.STATUS);
+
     private final DSLContext dsl;
+    private final RenderedQueryCache queries;
 
     public ProductRepository(DSLContext dsl) {
         this.dsl = dsl;
+        this.queries = new RenderedQueryCache(dsl);
     }
 
+    // RETURNING * hands back the stored row, defaults included, without a second SELECT
     public ProductsRecord create(CreateProductRequest request, String createdBy) {
-        var id = Objects.requireNonNull(dsl.insertInto(PRODUCTS)
-                        .set(PRODUCTS.NAME, request.name())
-                        .set(PRODUCTS.DESCRIPTION, request.description())
-                        .set(PRODUCTS.PRICE, request.price())
-                        .set(PRODUCTS.STOCK_QUANTITY, request.stockQuantity())
-                        .set(PRODUCTS.SKU, request.sku())
-                        .set(PRODUCTS.CATEGORY, request.category())
-                        .set(
-                                PRODUCTS.STATUS,
-                                request.status() != null ? request.status().name() : ProductStatus.ACTIVE.name())
-                        .set(PRODUCTS.CREATED_AT, LocalDateTime.now())
-                        .set(PRODUCTS.CREATED_BY, createdBy)
-                        .returningResult(PRODUCTS.ID)
-                        .fetchOne())
-                .value1();
-
-        return findById(id).orElse(null);
+        return dsl.insertInto(PRODUCTS)
+                .set(PRODUCTS.NAME, request.name())
+                .set(PRODUCTS.DESCRIPTION, request.description())
+                .set(PRODUCTS.PRICE, request.price())
+                .set(PRODUCTS.STOCK_QUANTITY, request.stockQuantity())
+                .set(PRODUCTS.SKU, request.sku())
+                .set(PRODUCTS.CATEGORY, request.category())
+                .set(
+                        PRODUCTS.STATUS,
+                        request.status() != null ? request.status().name() : ProductStatus.ACTIVE.name())
+                .set(PRODUCTS.CREATED_AT, LocalDateTime.now())
+                .set(PRODUCTS.CREATED_BY, createdBy)
+                .returning()
+                .fetchOne();
     }
 
-    public Optional<ProductsRecord> findById(Long id) {
-        return Optional.ofNullable(
-                dsl.selectFrom(PRODUCTS).where(PRODUCTS.ID.eq(id)).fetchOne());
+    // one multi-row INSERT ... RETURNING * per call; the rows come back fully populated, defaults included
+    public List<ProductsRecord> createAll(List<CreateProductRequest> requests, String createdBy) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        var now = LocalDateTime.now();
+        var insert = dsl.insertInto(
+                PRODUCTS,
+                PRODUCTS.NAME,
+                PRODUCTS.DESCRIPTION,
+                PRODUCTS.PRICE,
+                PRODUCTS.STOCK_QUANTITY,
+                PRODUCTS.SKU,
+                PRODUCTS.CATEGORY,
+                PRODUCTS.STATUS,
+                PRODUCTS.CREATED_AT,
+                PRODUCTS.CREATED_BY);
+        for (var request : requests) {
+            insert = insert.values(
+                    request.name(),
+                    request.description(),
+                    request.price(),
+                    request.stockQuantity(),
+                    request.sku(),
+                    request.category(),
+                    request.status() != null ? request.status().name() : ProductStatus.ACTIVE.name(),
+                    now,
+                    createdBy);
+        }
+        // PostgreSQL returns inserted rows in VALUES order
+        return insert.returning().fetch();
     }
 
-    public Page<@NonNull ProductsRecord> findAll(Pageable pageable, ProductStatus status, String category) {
-        Condition condition = DSL.trueCondition();
-
-        if (status != null) {
-            condition = condition.and(PRODUCTS.STATUS.eq(status.name()));
+    // one UPDATE products SET ... FROM (VALUES ...) ... RETURNING * per call. A null field keeps the current value.
+    // Rows are returned in request order; ids that do not exist are missing from the result.
+    public List<ProductsRecord> updateAll(List<BatchUpdateProductRequest> requests, String updatedBy) {
+        if (requests.isEmpty()) {
+            return List.of();
         }
+        var rows = requests.stream()
+                .map(request -> {
+                    var changes = request.changes();
+                    return row(List.of(
+                            val(request.id(), PRODUCTS.ID),
+                            val(changes.name(), PRODUCTS.NAME),
+                            val(changes.description(), PRODUCTS.DESCRIPTION),
+                            val(changes.price(), PRODUCTS.PRICE),
+                            val(changes.stockQuantity(), PRODUCTS.STOCK_QUANTITY),
+                            val(changes.sku(), PRODUCTS.SKU),
+                            val(changes.category(), PRODUCTS.CATEGORY),
+                            val(changes.status() != null ? changes.status().name() : null, PRODUCTS.STATUS)));
+                })
+                .toArray(RowN[]::new);
+        var changed = values(rows)
+                .as(
+                        CHANGES,
+                        UPDATABLE.stream().map(ProductRepository::changedName).toArray(String[]::new));
 
-        if (category != null && !category.isBlank()) {
-            condition = condition.and(PRODUCTS.CATEGORY.equalIgnoreCase(category));
+        var updated = dsl.update(PRODUCTS)
+                .set(PRODUCTS.NAME, coalesce(changed(PRODUCTS.NAME), PRODUCTS.NAME))
+                .set(PRODUCTS.DESCRIPTION, coalesce(changed(PRODUCTS.DESCRIPTION), PRODUCTS.DESCRIPTION))
+                .set(PRODUCTS.PRICE, coalesce(changed(PRODUCTS.PRICE), PRODUCTS.PRICE))
+                .set(PRODUCTS.STOCK_QUANTITY, coalesce(changed(PRODUCTS.STOCK_QUANTITY), PRODUCTS.STOCK_QUANTITY))
+                .set(PRODUCTS.SKU, coalesce(changed(PRODUCTS.SKU), PRODUCTS.SKU))
+                .set(PRODUCTS.CATEGORY, coalesce(changed(PRODUCTS.CATEGORY), PRODUCTS.CATEGORY))
+                .set(PRODUCTS.STATUS, coalesce(changed(PRODUCTS.STATUS), PRODUCTS.STATUS))
+                .set(PRODUCTS.UPDATED_AT, LocalDateTime.now())
+                .set(PRODUCTS.UPDATED_BY, updatedBy)
+                .from(changed)
+                .where(PRODUCTS.ID.eq(changed(PRODUCTS.ID)))
+                .returning()
+                .fetchMap(PRODUCTS.ID);
+
+        return requests.stream()
+                .map(request -> updated.get(request.id()))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // one INSERT ... ON CONFLICT (sku) DO UPDATE for all rows; SKUs must be distinct, since one statement cannot
+    // update the same row twice. The WHERE clause skips rows whose values did not change: no new tuple, no WAL.
+    public List<UpsertedProduct> upsertAll(List<CreateProductRequest> requests, String user) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        var now = LocalDateTime.now();
+        var insert = dsl.insertInto(
+                PRODUCTS,
+                PRODUCTS.NAME,
+                PRODUCTS.DESCRIPTION,
+                PRODUCTS.PRICE,
+                PRODUCTS.STOCK_QUANTITY,
+                PRODUCTS.SKU,
+                PRODUCTS.CATEGORY,
+                PRODUCTS.STATUS,
+                PRODUCTS.CREATED_AT,
+                PRODUCTS.CREATED_BY);
+        for (var request : requests) {
+            insert = insert.values(
+                    request.name(),
+                    request.description(),
+                    request.price(),
+                    request.stockQuantity(),
+                    request.sku(),
+                    request.category(),
+                    request.status() != null ? request.status().name() : ProductStatus.ACTIVE.name(),
+                    now,
+                    user);
         }
+        var written = insert.onConflict(PRODUCTS.SKU)
+                .doUpdate()
+                .set(PRODUCTS.NAME, excluded(PRODUCTS.NAME))
+                .set(PRODUCTS.DESCRIPTION, excluded(PRODUCTS.DESCRIPTION))
+                .set(PRODUCTS.PRICE, excluded(PRODUCTS.PRICE))
+                .set(PRODUCTS.STOCK_QUANTITY, excluded(PRODUCTS.STOCK_QUANTITY))
+                .set(PRODUCTS.CATEGORY, excluded(PRODUCTS.CATEGORY))
+                .set(PRODUCTS.STATUS, excluded(PRODUCTS.STATUS))
+                .set(PRODUCTS.UPDATED_AT, excluded(PRODUCTS.CREATED_AT))
+                .set(PRODUCTS.UPDATED_BY, excluded(PRODUCTS.CREATED_BY))
+                .where(row(
+                                PRODUCTS.NAME,
+                                PRODUCTS.DESCRIPTION,
+                                PRODUCTS.PRICE,
+                                PRODUCTS.STOCK_QUANTITY,
+                                PRODUCTS.CATEGORY,
+                                PRODUCTS.STATUS)
+                        .isDistinctFrom(row(
+                                excluded(PRODUCTS.NAME),
+                                excluded(PRODUCTS.DESCRIPTION),
+                                excluded(PRODUCTS.PRICE),
+                                excluded(PRODUCTS.STOCK_QUANTITY),
+                                excluded(PRODUCTS.CATEGORY),
+                                excluded(PRODUCTS.STATUS))))
+                .returningResult(PRODUCTS.ID, PRODUCTS.SKU, INSERTED)
+                .fetchMap(PRODUCTS.SKU, record -> new UpsertedProduct(
+                        record.value1(),
+                        record.value2(),
+                        record.value3() ? UpsertStatus.CREATED : UpsertStatus.UPDATED));
 
-        var total = dsl.selectCount().from(PRODUCTS).where(condition).fetchOne(0, Long.class);
+        // unchanged rows are filtered out of RETURNING; look up their ids in one more round trip
+        var unchanged = requests.stream()
+                .map(CreateProductRequest::sku)
+                .filter(sku -> !written.containsKey(sku))
+                .toList();
+        Map<String, Long> unchangedIds = unchanged.isEmpty()
+                ? Map.of()
+                : dsl.select(PRODUCTS.SKU, PRODUCTS.ID)
+                        .from(PRODUCTS)
+                        .where(PRODUCTS.SKU.in(unchanged))
+                        .fetchMap(PRODUCTS.SKU, PRODUCTS.ID);
 
-        var content = dsl.selectFrom(PRODUCTS)
-                .where(condition)
-                .orderBy(PRODUCTS.ID)
-                .limit(pageable.getPageSize())
-                .offset((int) pageable.getOffset())
+        return requests.stream()
+                .map(request -> written.getOrDefault(
+                        request.sku(),
+                        new UpsertedProduct(unchangedIds.get(request.sku()), request.sku(), UpsertStatus.UNCHANGED)))
+                .toList();
+    }
+
+    public Optional<ProductsRecord> findById(Long id) {
+        var query = queries.get("findById", () -> dsl.selectFrom(PRODUCTS).where(PRODUCTS.ID.eq(param(ID, id))));
+        return dsl.resultQuery(query.sql(), query.bind(Map.of(ID, id)))
+                .coerce(PRODUCTS)
+                .fetchOptional();
+    }
+
+    // separate count query: two round trips, each evaluating the filter
+    public Page<@NonNull ProductsRecord> findAll(Pageable pageable, ProductStatus status, String category) {
+        var total = count(status, category);
+
+        var query = queries.get(
+                shape("page", status, category),
+                () -> page(dsl.selectFrom(PRODUCTS).where(filter(status, category))));
+        var content = dsl.resultQuery(
+                        query.sql(), query.bind(pageValues(status, category, pageable.getPageSize(), pageable)))
+                .coerce(PRODUCTS)
                 .fetch();
         return PageableExecutionUtils.getPage(content, pageable, () -> total);
     }
 
+    // count(*) OVER () is evaluated before LIMIT, so every row of the page carries the filtered total: one round trip
+    public Page<@NonNull ProductsRecord> findAllWithWindowCount(
+            Pageable pageable, ProductStatus status, String category) {
+        var query = queries.get(
+                shape("window", status, category),
+                () -> page(dsl.select(PRODUCTS.fields())
+                        .select(TOTAL)
+                        .from(PRODUCTS)
+                        .where(filter(status, category))));
+        var rows = dsl.resultQuery(
+                        query.sql(), query.bind(pageValues(status, category, pageable.getPageSize(), pageable)))
+                .coerce(WINDOW_FIELDS)
+                .fetch();
+        var content = rows.into(PRODUCTS);
+        // a page past the end has no row to carry the total, so only then is it counted separately
+        return PageableExecutionUtils.getPage(
+                content, pageable, () -> rows.isEmpty() ? count(status, category) : rows.getFirst().get(TOTAL));
+    }
+
+    // no total at all: one extra row tells whether another page follows. Same SQL as the findAll page query.
+    public Slice<@NonNull ProductsRecord> findSlice(Pageable pageable, ProductStatus status, String category) {
+        var query = queries.get(
+                shape("page", status, category),
+                () -> page(dsl.selectFrom(PRODUCTS).where(filter(status, category))));
+        var rows = dsl.resultQuery(
+                        query.sql(), query.bind(pageValues(status, category, pageable.getPageSize() + 1, pageable)))
+                .coerce(PRODUCTS)
+                .fetch();
+        var hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+
+    private long count(ProductStatus status, String category) {
+        var query = queries.get(
+                shape("count", status, category),
+                () -> dsl.selectCount().from(PRODUCTS).where(filter(status, category)));
+        return dsl.resultQuery(query.sql(), query.bind(filterValues(status, category)))
+                .fetchOne(0, Long.class);
+    }
+
+    // fetchStream keeps a cursor open instead of loading a Result; PgJDBC only honours the fetch size inside a
+    // transaction, otherwise it buffers every row. The stream must be closed to release the cursor.
+    public Stream<ProductsRecord> streamAll(ProductStatus status, String category, int fetchSize) {
+        return dsl.selectFrom(PRODUCTS)
+                .where(filter(status, category))
+                .orderBy(PRODUCTS.ID)
+                .fetchSize(fetchSize)
+                .fetchStream();
+    }
+
+    // an unknown id updates no row, so RETURNING yields nothing
     public Optional<ProductsRecord> update(Long id, UpdateProductRequest request, String updatedBy) {
-        int updated = dsl.update(PRODUCTS)
+        return dsl.update(PRODUCTS)
                 .set(PRODUCTS.NAME, request.name())
                 .set(PRODUCTS.DESCRIPTION, request.description())
                 .set(PRODUCTS.PRICE, request.price())
@@ -88,13 +335,72 @@ public class ProductRepository {
                 .set(PRODUCTS.UPDATED_AT, LocalDateTime.now())
                 .set(PRODUCTS.UPDATED_BY, updatedBy)
                 .where(PRODUCTS.ID.eq(id))
-                .execute();
-
-        return updated > 0 ? findById(id) : Optional.empty();
+                .returning()
+                .fetchOptional();
     }
 
     public boolean deleteById(Long id) {
-        int deleted = dsl.deleteFrom(PRODUCTS).where(PRODUCTS.ID.eq(id)).execute();
+        var query = queries.get("deleteById", () -> dsl.deleteFrom(PRODUCTS).where(PRODUCTS.ID.eq(param(ID, id))));
+        int deleted = dsl.query(query.sql(), query.bind(Map.of(ID, id))).execute();
         return deleted > 0;
     }
+
+    // placeholder values only: every call binds its own. They are not 0, since jOOQ drops an OFFSET 0 from the SQL.
+    private static <R extends Record> ResultQuery<R> page(SelectConditionStep<R> select) {
+        return select.orderBy(PRODUCTS.ID).limit(param(LIMIT, 1)).offset(param(OFFSET, 1L));
+    }
+
+    // the VALUES columns get their own names, so SET and RETURNING never mistake them for products columns
+    private static <T> Field<T> changed(Field<T> column) {
+        return DSL.field(DSL.name(CHANGES, changedName(column)), column.getDataType());
+    }
+
+    private static String changedName(Field<?> column) {
+        return "new_" + column.getName();
+    }
+
+    // package-private for the EXPLAIN test; named parameters, so cached queries can bind new values by name
+    static Condition filter(ProductStatus status, String category) {
+        Condition condition = DSL.trueCondition();
+
+        if (status != null) {
+            condition = condition.and(PRODUCTS.STATUS.eq(param(STATUS, status.name())));
+        }
+
+        if (hasCategory(category)) {
+            // spelled out to match the expression of idx_products_category_lower (V3)
+            condition = condition.and(lower(PRODUCTS.CATEGORY).eq(lower(param(CATEGORY, category))));
+        }
+        return condition;
+    }
+
+    // which filters apply decides the SQL text, their values do not
+    private static String shape(String query, ProductStatus status, String category) {
+        return query + (status != null ? ":status" : "") + (hasCategory(category) ? ":category" : "");
+    }
+
+    private static Map<String, Object> filterValues(ProductStatus status, String category) {
+        var values = new HashMap<String, Object>();
+        if (status != null) {
+            values.put(STATUS, status.name());
+        }
+        if (hasCategory(category)) {
+            values.put(CATEGORY, category);
+        }
+        return values;
+    }
+
+    private static Map<String, Object> pageValues(
+            ProductStatus status, String category, int limit, Pageable pageable) {
+        var values = filterValues(status, category);
+        values.put(LIMIT, limit);
+        values.put(OFFSET, pageable.getOffset());
+        return values;
+    }
+
+    private static boolean hasCategory(String category) {
+        return category != null && !category.isBlank();
+    }
+
+    public record UpsertedProduct(Long id, String sku, UpsertStatus status) {}
 }
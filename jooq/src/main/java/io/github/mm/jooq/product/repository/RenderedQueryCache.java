@@ -0,0 +1,49 @@
+package io.github.mm.jooq.product.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.jooq.DSLContext;
+import org.jooq.Query;
+
+// Builds and renders each query shape once. A later call skips building the DSL tree and walking it: the cached text
+// goes to dsl.resultQuery(sql, binds), a plain-SQL QueryPart that jOOQ still scans for ? placeholders and renders,
+// visiting a few QueryParts instead of every table, field and condition. The identical SQL text also lets PgJDBC
+// reuse the statement it prepared on the server for that connection.
+// A shape key must name everything that changes the SQL text; the values that change go in as named DSL.param()s.
+final class RenderedQueryCache {
+
+    private final DSLContext dsl;
+    private final Map<String, RenderedQuery> queries = new ConcurrentHashMap<>();
+
+    RenderedQueryCache(DSLContext dsl) {
+        this.dsl = dsl;
+    }
+
+    RenderedQuery get(String shape, Supplier<? extends Query> template) {
+        return queries.computeIfAbsent(shape, key -> {
+            var query = template.get();
+            // getParams() lists the parameters in bind order, which is the order of the ? placeholders
+            return new RenderedQuery(dsl.render(query), List.copyOf(query.getParams().keySet()));
+        });
+    }
+
+    int size() {
+        return queries.size();
+    }
+
+    record RenderedQuery(String sql, List<String> params) {
+
+        Object[] bind(Map<String, ?> values) {
+            return params.stream()
+                    .map(name -> {
+                        if (!values.containsKey(name)) {
+                            throw new IllegalArgumentException("No value for parameter " + name + " of " + sql);
+                        }
+                        return values.get(name);
+                    })
+                    .toArray();
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package io.github.mm.jooq.product.rest;
 
 import io.github.mm.jooq.product.ProductService;
+import io.github.mm.jooq.product.TotalCountMode;
+import io.github.mm.jooq.product.rest.dto.BatchUpdateProductRequest;
 import io.github.mm.jooq.product.rest.dto.CreateProductRequest;
 import io.github.mm.jooq.product.rest.dto.Product;
 import io.github.mm.jooq.product.rest.dto.ProductStatus;
+import io.github.mm.jooq.product.rest.dto.ProductUpsertResult;
+import io.github.mm.jooq.product.rest.dto.SliceMetadata;
+import io.github.mm.jooq.product.rest.dto.SliceResponse;
 import io.github.mm.jooq.product.rest.dto.UpdateProductRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,7 +17,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import org.jspecify.annotations.NonNull;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.support.PageableExecutionUtils;
@@ -22,6 +34,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
 import org.springframework.web.bind.annotation.*;
+import tools.jackson.databind.json.JsonMapper;
 
 @RestController
 @RequestMapping("/api/products")
@@ -29,9 +42,11 @@ import org.springframework.web.bind.annotation.*;
 public class ProductApi {
 
     private final ProductService productService;
+    private final JsonMapper jsonMapper;
 
-    public ProductApi(ProductService productService) {
+    public ProductApi(ProductService productService, JsonMapper jsonMapper) {
         this.productService = productService;
+        this.jsonMapper = jsonMapper;
     }
 
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -66,6 +81,111 @@ public class ProductApi {
         return productService.createProduct(request);
     }
 
+    @PostMapping(
+            value = "/batch",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Create products in bulk",
+            description = "Creates all products with multi-row INSERT ... RETURNING statements, one per chunk, in a "
+                    + "single transaction. Returns the created products in request order.")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "201",
+                        description = "Products successfully created",
+                        content = @Content(mediaType = "application/json")),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Invalid input - validation errors or duplicate SKU",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ProblemDetail.class)))
+            })
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<Product> createProducts(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                            description = "Products to create",
+                            required = true)
+                    @Valid
+                    @RequestBody
+                    List<@Valid CreateProductRequest> requests) {
+        return productService.createProducts(requests);
+    }
+
+    @PatchMapping(
+            value = "/batch",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Update products in bulk",
+            description = "Updates all products with UPDATE ... FROM (VALUES ...) RETURNING statements, one per chunk, "
+                    + "in a single transaction. Null fields keep their current value. If any product does not exist, "
+                    + "nothing is updated.")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Updated products in request order",
+                        content = @Content(mediaType = "application/json")),
+                @ApiResponse(
+                        responseCode = "404",
+                        description = "One or more products not found",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ProblemDetail.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Invalid input - validation errors or an id repeated in the request",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ProblemDetail.class)))
+            })
+    public List<Product> updateProducts(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                            description = "Product ids with their changes",
+                            required = true)
+                    @Valid
+                    @RequestBody
+                    List<@Valid BatchUpdateProductRequest> requests) {
+        return productService.updateProducts(requests);
+    }
+
+    @PutMapping(
+            value = "/batch",
+            produces = MediaType.APPLICATION_JSON_VALUE,
+            consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Upsert products by SKU",
+            description = "Creates or updates products matched by SKU in a single INSERT ... ON CONFLICT statement. "
+                    + "Products whose values did not change are not written and are reported as UNCHANGED.")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Per-product results in request order",
+                        content = @Content(mediaType = "application/json")),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Invalid input - validation errors or a SKU repeated in the request",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = ProblemDetail.class)))
+            })
+    public List<ProductUpsertResult> upsertProducts(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                            description = "Products to create or update, keyed by SKU",
+                            required = true)
+                    @Valid
+                    @RequestBody
+                    List<@Valid CreateProductRequest> requests) {
+        return productService.upsertProducts(requests);
+    }
+
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(
             summary = "Get product by ID",
@@ -112,11 +232,81 @@ public class ProductApi {
                     ProductStatus status,
             @Parameter(description = "Filter products by category name", example = "Electronics")
                     @RequestParam(required = false)
-                    String category) {
-        var page = productService.findAll(pageable, status, category);
+                    String category,
+            @Parameter(
+                            description = "How totalElements is computed: EXACT (separate count query) or WINDOW "
+                                    + "(count(*) OVER () in the page query, one round trip)",
+                            example = "WINDOW")
+                    @RequestParam(defaultValue = "EXACT")
+                    TotalCountMode count) {
+        var page = productService.findAll(pageable, status, category, count);
         return new PagedModel<>(PageableExecutionUtils.getPage(page.getContent(), pageable, page::getTotalElements));
     }
 
+    @GetMapping(value = "/slice", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "List products without a total",
+            description = "Retrieves a page of products with the same filters as the list, but without counting them. "
+                    + "One extra row is fetched to tell whether a next page exists.")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Successfully retrieved product slice",
+                        content =
+                                @Content(
+                                        mediaType = "application/json",
+                                        schema = @Schema(implementation = SliceResponse.class)))
+            })
+    public SliceResponse<Product> getProductSlice(
+            @PageableDefault @Parameter(hidden = true) Pageable pageable,
+            @Parameter(description = "Filter products by status (ACTIVE, INACTIVE, DISCONTINUED)", example = "ACTIVE")
+                    @RequestParam(required = false)
+                    ProductStatus status,
+            @Parameter(description = "Filter products by category name", example = "Electronics")
+                    @RequestParam(required = false)
+                    String category) {
+        var slice = productService.findSlice(pageable, status, category);
+        return new SliceResponse<>(
+                slice.getContent(), new SliceMetadata(slice.getSize(), slice.getNumber(), slice.hasNext()));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Export products as NDJSON",
+            description = "Streams all products matching the filters, ordered by id, one product per line. "
+                    + "Rows are read from a jOOQ cursor in fetch-size chunks, so memory use does not depend on the "
+                    + "number of rows.")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Products streamed as newline-delimited JSON",
+                        content = @Content(mediaType = "application/x-ndjson"))
+            })
+    public void exportProducts(
+            @Parameter(description = "Filter products by status (ACTIVE, INACTIVE, DISCONTINUED)", example = "ACTIVE")
+                    @RequestParam(required = false)
+                    ProductStatus status,
+            @Parameter(description = "Filter products by category name", example = "Electronics")
+                    @RequestParam(required = false)
+                    String category,
+            HttpServletResponse response)
+            throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        var writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        // rows are flushed as the buffer fills up; a client disconnect aborts the export and closes the cursor
+        productService.exportAll(status, category, product -> {
+            try {
+                writer.write(jsonMapper.writeValueAsString(product));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
     @PutMapping(
             value = "/{id}",
             produces = MediaType.APPLICATION_JSON_VALUE,
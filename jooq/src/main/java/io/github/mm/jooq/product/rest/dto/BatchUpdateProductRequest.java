@@ -0,0 +1,19 @@
+package io.github.mm.jooq.product.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "Changes for one product in a batch update")
+public record BatchUpdateProductRequest(
+        @Schema(
+                description = "ID of the product to update",
+                example = "101",
+                requiredMode = Schema.RequiredMode.REQUIRED)
+        @NotNull(message = "Product id is required")
+        Long id,
+
+        @Schema(description = "Fields to change; null fields keep their current value")
+        @NotNull(message = "Changes are required")
+        @Valid
+        UpdateProductRequest changes) {}
@@ -0,0 +1,17 @@
+package io.github.mm.jooq.product.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Result of upserting a single product, in request order")
+public record ProductUpsertResult(
+        @Schema(description = "Zero-based position of the item in the request", example = "0")
+        int index,
+
+        @Schema(description = "ID of the created or matched product", example = "101")
+        Long id,
+
+        @Schema(description = "SKU the product was matched by", example = "LAP-001")
+        String sku,
+
+        @Schema(description = "Whether the product was created, updated or left unchanged", example = "CREATED")
+        UpsertStatus status) {}
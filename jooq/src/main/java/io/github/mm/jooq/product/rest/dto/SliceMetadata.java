@@ -0,0 +1,14 @@
+package io.github.mm.jooq.product.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Slice metadata for pagination without a total count")
+public record SliceMetadata(
+        @Schema(description = "The size of the slice", example = "20")
+        int size,
+
+        @Schema(description = "Zero-based number of the slice", example = "0")
+        int number,
+
+        @Schema(description = "Whether there are more items to fetch", requiredMode = Schema.RequiredMode.REQUIRED)
+        boolean hasNext) {}
@@ -0,0 +1,12 @@
+package io.github.mm.jooq.product.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Paginated items without a total count")
+public record SliceResponse<T>(
+        @Schema(description = "Items in the current slice", requiredMode = Schema.RequiredMode.REQUIRED)
+        List<T> content,
+
+        @Schema(description = "Slice metadata for pagination", requiredMode = Schema.RequiredMode.REQUIRED)
+        SliceMetadata slice) {}
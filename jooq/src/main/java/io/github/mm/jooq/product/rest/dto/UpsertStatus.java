@@ -0,0 +1,13 @@
+package io.github.mm.jooq.product.rest.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of upserting a single product by SKU")
+public enum UpsertStatus {
+    @Schema(description = "No product had the SKU, a new one was inserted")
+    CREATED,
+    @Schema(description = "A product with the SKU existed and at least one value changed")
+    UPDATED,
+    @Schema(description = "A product with the SKU existed with identical values, nothing was written")
+    UNCHANGED
+}
@@ -0,0 +1,5 @@
+-- Built CONCURRENTLY, so writes keep flowing; Flyway runs this script outside a transaction.
+-- The unique index serves SKU lookups, so the plain index goes once it is built.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uq_products_sku ON dbo.products (sku);
+
+DROP INDEX CONCURRENTLY IF EXISTS dbo.idx_products_sku;
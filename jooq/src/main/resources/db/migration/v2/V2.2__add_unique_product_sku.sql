@@ -0,0 +1,4 @@
+-- The constraint backs INSERT ... ON CONFLICT (sku). USING INDEX adopts the index V2.1 built, so the ACCESS
+-- EXCLUSIVE lock is held only to update the catalog, not to scan the table.
+ALTER TABLE dbo.products
+    ADD CONSTRAINT uq_products_sku UNIQUE USING INDEX uq_products_sku;
@@ -0,0 +1,9 @@
+-- Supplier feeds are keyed by SKU, so SKUs must become unique before V2.1 indexes them. The oldest product keeps
+-- its SKU; later duplicates get their id appended, which is visible and easy to correct by hand.
+UPDATE dbo.products p
+SET sku = left(p.sku, 49 - length(p.id::TEXT)) || '-' || p.id
+FROM (SELECT id, row_number() OVER (PARTITION BY sku ORDER BY id) AS occurrence
+      FROM dbo.products
+      WHERE sku IS NOT NULL) duplicates
+WHERE p.id = duplicates.id
+  AND duplicates.occurrence > 1;
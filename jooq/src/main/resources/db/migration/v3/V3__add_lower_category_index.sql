@@ -0,0 +1,6 @@
+-- Category filters compare lower(category) = lower(?), which a plain index on category cannot serve.
+-- The expression index matches that predicate; id follows it, so ORDER BY id LIMIT reads one page straight off it.
+-- CONCURRENTLY keeps writes flowing during the build, so Flyway runs this script outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_category_lower ON dbo.products (lower(category), id);
+
+DROP INDEX CONCURRENTLY IF EXISTS dbo.idx_products_category;
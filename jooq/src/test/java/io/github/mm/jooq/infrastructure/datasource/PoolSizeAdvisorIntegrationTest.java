@@ -0,0 +1,69 @@
+package io.github.mm.jooq.infrastructure.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.mm.jooq.test.SpringBootIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+@SpringBootIntegrationTest
+@DisplayName("Pool Size Advisor Integration Tests")
+class PoolSizeAdvisorIntegrationTest {
+
+    @Autowired
+    private PoolSizeAdvisor advisor;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Should sample the primary pool and recommend a size within bounds")
+    void shouldRecommendPoolSizeWithinBounds() {
+        dsl.fetchValue("SELECT 1");
+
+        advisor.sample();
+
+        assertThat(advisor.report()).singleElement().satisfies(sizing -> {
+            assertThat(sizing.pool()).isEqualTo("primary");
+            assertThat(sizing.recommendedSize()).isBetween(5, 50);
+        });
+        assertThat(registry.find("hikaricp.connections.in.use").tag("pool", "primary").summary())
+                .isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should publish the percentiles the recommendation is computed from")
+    void shouldPublishPercentilesOfTheAdvisedWindow() throws Exception {
+        try (var held = dataSource.getConnection()) { // one connection in use while sampling
+            advisor.sample();
+            advisor.sample();
+        }
+
+        var sizing = advisor.report().getFirst();
+        assertThat(sizing.inUseP95()).isPositive();
+        assertThat(inUsePercentile("0.95")).isEqualTo(sizing.inUseP95());
+        assertThat(inUsePercentile("0.5")).isEqualTo(sizing.inUseP50());
+
+        advisor.adjust(); // closes the window the advice was taken from
+
+        assertThat(advisor.report().getFirst().inUseP95()).isEqualTo(inUsePercentile("0.95"));
+    }
+
+    private double inUsePercentile(String phi) {
+        return registry.get("hikaricp.connections.in.use.percentile")
+                .tag("pool", "primary")
+                .tag("phi", phi)
+                .gauge()
+                .value();
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.mm.jooq.infrastructure.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.mm.jooq.config.ReplicaTestcontainersConfiguration;
+import io.github.mm.jooq.test.SpringBootIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootIntegrationTest
+@Import(ReplicaTestcontainersConfiguration.class)
+@DisplayName("Read Replica Routing Integration Tests")
+class ReadReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    @DisplayName("Should route jOOQ queries in read-only transactions to the replica")
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        assertThat(readOnly.execute(status -> currentDatabase())).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should route jOOQ queries in read-write transactions and outside transactions to the primary")
+    void shouldRouteReadWriteTransactionsToPrimary() {
+        var readWrite = new TransactionTemplate(transactionManager);
+
+        assertThat(readWrite.execute(status -> currentDatabase())).isEqualTo("jooqdb");
+        assertThat(currentDatabase()).isEqualTo("jooqdb");
+    }
+
+    @Test
+    @DisplayName("Should publish pool metrics per route")
+    void shouldPublishPoolMetricsPerRoute() {
+        var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.execute(status -> currentDatabase());
+
+        assertThat(registry.find("hikaricp.connections").tag("pool", "replica-0").gauge())
+                .isNotNull();
+    }
+
+    private String currentDatabase() {
+        return dsl.fetchValue("SELECT current_database()", String.class);
+    }
+}
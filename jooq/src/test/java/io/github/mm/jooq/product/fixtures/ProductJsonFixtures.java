@@ -1,5 +1,7 @@
 package io.github.mm.jooq.product.fixtures;
 
+import static io.github.mm.jooq.product.fixtures.ProductRequestFixtures.sku;
+
 public final class ProductJsonFixtures {
 
     private ProductJsonFixtures() {}
@@ -11,11 +13,11 @@ public final class ProductJsonFixtures {
                     "description": "HD Webcam with microphone",
                     "price": 89.99,
                     "stockQuantity": 30,
-                    "sku": "PROD-WEBCAM-001",
+                    "sku": "%s",
                     "category": "ELECTRONICS",
                     "status": "ACTIVE"
                 }
-                """;
+                """.formatted(sku("PROD-WEBCAM"));
     }
 
     public static String updateRequest() {
@@ -25,11 +27,11 @@ public final class ProductJsonFixtures {
                     "description": "Updated description",
                     "price": 149.99,
                     "stockQuantity": 75,
-                    "sku": "PROD-UPDATED-001",
+                    "sku": "%s",
                     "category": "ELECTRONICS",
                     "status": "ACTIVE"
                 }
-                """;
+                """.formatted(sku("PROD-UPDATED"));
     }
 
     public static String deleteRequest() {
@@ -39,11 +41,11 @@ public final class ProductJsonFixtures {
                     "description": "This product will be deleted",
                     "price": 25.00,
                     "stockQuantity": 10,
-                    "sku": "PROD-DELETE-TEST",
+                    "sku": "%s",
                     "category": "ELECTRONICS",
                     "status": "ACTIVE"
                 }
-                """;
+                """.formatted(sku("PROD-DELETE"));
     }
 
     public static String invalid() {
@@ -62,11 +64,11 @@ public final class ProductJsonFixtures {
                     "description": "Mechanical RGB Gaming Keyboard",
                     "price": 129.99,
                     "stockQuantity": 100,
-                    "sku": "PROD-KEYBOARD-001",
+                    "sku": "%s",
                     "category": "ELECTRONICS",
                     "status": "ACTIVE"
                 }
-                """;
+                """.formatted(sku("PROD-KEYBOARD"));
     }
 
     public static String createPeripherals() {
@@ -76,10 +78,28 @@ public final class ProductJsonFixtures {
                     "description": "7-Port USB 3.0 Hub",
                     "price": 39.99,
                     "stockQuantity": 150,
-                    "sku": "PROD-HUB-001",
+                    "sku": "%s",
                     "category": "PERIPHERALS",
                     "status": "ACTIVE"
                 }
-                """;
+                """.formatted(sku("PROD-HUB"));
+    }
+
+    public static String upsertBatch(String keyboardSku, String hubSku, String keyboardPrice) {
+        return """
+                [
+                    {"name": "Feed Keyboard", "price": %s, "stockQuantity": 10, "sku": "%s", "category": "ELECTRONICS"},
+                    {"name": "Feed Hub", "price": 19.99, "stockQuantity": 5, "sku": "%s", "category": "PERIPHERALS"}
+                ]
+                """.formatted(keyboardPrice, keyboardSku, hubSku);
+    }
+
+    public static String updateBatch(Integer keyboardId, Integer hubId) {
+        return """
+                [
+                    {"id": %d, "changes": {"price": 24.99}},
+                    {"id": %d, "changes": {"stockQuantity": 0, "status": "INACTIVE"}}
+                ]
+                """.formatted(keyboardId, hubId);
     }
 }
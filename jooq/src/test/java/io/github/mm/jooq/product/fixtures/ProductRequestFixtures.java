@@ -4,18 +4,26 @@ import io.github.mm.jooq.product.rest.dto.CreateProductRequest;
 import io.github.mm.jooq.product.rest.dto.ProductStatus;
 import io.github.mm.jooq.product.rest.dto.UpdateProductRequest;
 import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class ProductRequestFixtures {
 
+    private static final AtomicInteger SKU_SEQUENCE = new AtomicInteger();
+
     private ProductRequestFixtures() {}
 
+    // SKUs are unique (V2), so every fixture gets its own
+    public static String sku(String prefix) {
+        return "%s-%03d".formatted(prefix, SKU_SEQUENCE.incrementAndGet());
+    }
+
     public static CreateProductRequest createMonitor() {
         return new CreateProductRequest(
                 "Monitor",
                 "4K UHD Monitor",
                 new BigDecimal("599.99"),
                 50,
-                "PROD-MONITOR-001",
+                sku("PROD-MONITOR"),
                 "ELECTRONICS",
                 ProductStatus.ACTIVE);
     }
@@ -26,14 +34,14 @@ public final class ProductRequestFixtures {
                 "Test description",
                 new BigDecimal("99.99"),
                 100,
-                "PROD-TEST-001",
+                sku("PROD-TEST"),
                 "ELECTRONICS",
                 status);
     }
 
     public static CreateProductRequest createMinimal() {
         return new CreateProductRequest(
-                "Minimal Product", null, new BigDecimal("9.99"), 7, "PROD-UPDATED-001", null, ProductStatus.ACTIVE);
+                "Minimal Product", null, new BigDecimal("9.99"), 7, sku("PROD-UPDATED"), null, ProductStatus.ACTIVE);
     }
 
     public static UpdateProductRequest updateRequest() {
@@ -42,7 +50,7 @@ public final class ProductRequestFixtures {
                 "Updated description",
                 new BigDecimal("149.99"),
                 75,
-                "PROD-UPDATED-001",
+                sku("PROD-UPDATED"),
                 "ELECTRONICS",
                 ProductStatus.ACTIVE);
     }
@@ -53,7 +61,7 @@ public final class ProductRequestFixtures {
                 "Product with updated status",
                 new BigDecimal("199.99"),
                 50,
-                "PROD-STATUS-001",
+                sku("PROD-STATUS"),
                 "ELECTRONICS",
                 status);
     }
@@ -0,0 +1,131 @@
+package io.github.mm.jooq.product.repository;
+
+import static io.github.mm.jooq.product.fixtures.ProductRequestFixtures.createMonitor;
+import static io.github.mm.jooq.product.generated.tables.Products.PRODUCTS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.mm.jooq.product.rest.dto.ProductStatus;
+import io.github.mm.jooq.test.SpringBootIntegrationTest;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jooq.DSLContext;
+import org.jooq.VisitContext;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultVisitListener;
+import org.jooq.impl.DefaultVisitListenerProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+// Opt-in: ./mvnw test -pl jooq -Dtest=ProductQueryCpuLoadTest -Dload-test=true
+// Compares a query built and rendered on every call with the SQL rendered once by RenderedQueryCache. It asserts that
+// the cached path renders fewer query parts per call and logs the CPU time the calling thread spends per query.
+// Add -DargLine=-XX:StartFlightRecording=filename=queries.jfr to see where the time goes.
+@Transactional
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+@SpringBootIntegrationTest
+@DisplayName("Product Query CPU Load Tests")
+class ProductQueryCpuLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductQueryCpuLoadTest.class);
+    private static final int WARM_UP = 5_000;
+    private static final int ITERATIONS = 20_000;
+
+    @Autowired
+    private ProductRepository repository;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Test
+    @DisplayName("Should render fewer query parts per findById with the rendered SQL cache")
+    void shouldCompareFindByIdCpu() {
+        var id = repository.create(createMonitor(), "load-test").getId();
+        var renderedVisits = new AtomicLong();
+        var cachedVisits = new AtomicLong();
+        var renderedDsl = countingVisits(renderedVisits);
+        var cachedRepository = new ProductRepository(countingVisits(cachedVisits));
+
+        var rendered = measure(
+                "findById, built and rendered per call",
+                renderedVisits,
+                () -> renderedDsl.selectFrom(PRODUCTS).where(PRODUCTS.ID.eq(id)).fetchOptional());
+        var cached = measure("findById, rendered once", cachedVisits, () -> cachedRepository.findById(id));
+
+        assertThat(cached.visitsPerCall()).isLessThan(rendered.visitsPerCall());
+    }
+
+    @Test
+    @DisplayName("Should render fewer query parts per filtered page with the rendered SQL cache")
+    void shouldCompareFilteredPageCpu() {
+        repository.create(createMonitor(), "load-test");
+        var pageable = PageRequest.of(0, 20);
+        var renderedVisits = new AtomicLong();
+        var cachedVisits = new AtomicLong();
+        var renderedDsl = countingVisits(renderedVisits);
+        var cachedRepository = new ProductRepository(countingVisits(cachedVisits));
+
+        var rendered = measure(
+                "filtered page, built and rendered per call",
+                renderedVisits,
+                () -> renderedDsl
+                        .selectFrom(PRODUCTS)
+                        .where(PRODUCTS.STATUS.eq(ProductStatus.ACTIVE.name()))
+                        .and(DSL.lower(PRODUCTS.CATEGORY).eq(DSL.lower(DSL.val("electronics"))))
+                        .orderBy(PRODUCTS.ID)
+                        .limit(pageable.getPageSize())
+                        .offset(pageable.getOffset())
+                        .fetch());
+        var cached = measure(
+                "filtered page, rendered once",
+                cachedVisits,
+                () -> cachedRepository.findSlice(pageable, ProductStatus.ACTIVE, "electronics"));
+
+        assertThat(cached.visitsPerCall()).isLessThan(rendered.visitsPerCall());
+    }
+
+    // every QueryPart jOOQ renders passes through visitStart, so the count is the rendering work per call and, unlike
+    // CPU time, does not depend on the machine. Both paths pay for the same listener.
+    private DSLContext countingVisits(AtomicLong visits) {
+        return DSL.using(dsl.configuration().derive(new DefaultVisitListenerProvider(new DefaultVisitListener() {
+            @Override
+            public void visitStart(VisitContext context) {
+                visits.incrementAndGet();
+            }
+        })));
+    }
+
+    // thread CPU time excludes the time spent waiting for PostgreSQL, so it isolates the client-side cost. The
+    // warm-up also renders the cached shapes, so only the steady state is counted.
+    private static Measurement measure(String scenario, AtomicLong visits, Runnable query) {
+        var threads = ManagementFactory.getThreadMXBean();
+        for (var i = 0; i < WARM_UP; i++) {
+            query.run();
+        }
+        visits.set(0);
+        var startCpu = threads.getCurrentThreadCpuTime();
+        var startWall = System.nanoTime();
+        for (var i = 0; i < ITERATIONS; i++) {
+            query.run();
+        }
+        var measurement = new Measurement(
+                (threads.getCurrentThreadCpuTime() - startCpu) / 1_000.0 / ITERATIONS,
+                (System.nanoTime() - startWall) / 1_000.0 / ITERATIONS,
+                (double) visits.get() / ITERATIONS);
+        log.info(
+                "{}: {} us CPU, {} us wall, {} query parts rendered per call over {} calls",
+                scenario,
+                Math.round(measurement.cpuMicros() * 10) / 10.0,
+                Math.round(measurement.wallMicros() * 10) / 10.0,
+                measurement.visitsPerCall(),
+                ITERATIONS);
+        return measurement;
+    }
+
+    private record Measurement(double cpuMicros, double wallMicros, double visitsPerCall) {}
+}
@@ -1,16 +1,22 @@
 package io.github.mm.jooq.product.repository;
 
 import static io.github.mm.jooq.product.fixtures.ProductRequestFixtures.*;
+import static io.github.mm.jooq.product.generated.tables.Products.PRODUCTS;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.github.mm.jooq.product.generated.tables.records.ProductsRecord;
+import io.github.mm.jooq.product.rest.dto.BatchUpdateProductRequest;
 import io.github.mm.jooq.product.rest.dto.CreateProductRequest;
 import io.github.mm.jooq.product.rest.dto.ProductStatus;
+import io.github.mm.jooq.product.rest.dto.UpdateProductRequest;
 import io.github.mm.jooq.test.SpringBootIntegrationTest;
 import java.math.BigDecimal;
+import java.util.List;
+import org.jooq.DSLContext;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +28,9 @@ class ProductRepositoryIntegrationTest {
     @Autowired
     private ProductRepository repository;
 
+    @Autowired
+    private DSLContext dsl;
+
     @Test
     @DisplayName("Should create and retrieve product using jOOQ")
     void shouldCreateAndRetrieveProduct() {
@@ -35,7 +44,7 @@ class ProductRepositoryIntegrationTest {
         assertThat(savedProduct.getDescription()).isEqualTo("4K UHD Monitor");
         assertThat(savedProduct.getPrice()).isEqualByComparingTo(new BigDecimal("599.99"));
         assertThat(savedProduct.getStockQuantity()).isEqualTo(50);
-        assertThat(savedProduct.getSku()).isEqualTo("PROD-MONITOR-001");
+        assertThat(savedProduct.getSku()).isEqualTo(request.sku());
         assertThat(savedProduct.getCategory()).isEqualTo("ELECTRONICS");
         assertThat(savedProduct.getStatus()).isEqualTo(ProductStatus.ACTIVE.name());
         assertThat(savedProduct.getCreatedAt()).isNotNull();
@@ -167,4 +176,103 @@ class ProductRepositoryIntegrationTest {
 
         assertThat(allProducts).hasSizeGreaterThanOrEqualTo(2);
     }
+
+    @Test
+    @DisplayName("Should create and update products in bulk and return full records using jOOQ")
+    void shouldCreateAndUpdateAll() {
+        var monitor = createMonitor();
+        var minimal = createMinimal();
+
+        var created = repository.createAll(List.of(monitor, minimal), "test-user");
+
+        assertThat(created).extracting(ProductsRecord::getSku).containsExactly(monitor.sku(), minimal.sku());
+        assertThat(created).allSatisfy(record -> {
+            assertThat(record.getId()).isNotNull();
+            assertThat(record.getCreatedAt()).isNotNull();
+            assertThat(record.getStatus()).isEqualTo(ProductStatus.ACTIVE.name());
+        });
+
+        var updated = repository.updateAll(
+                List.of(
+                        new BatchUpdateProductRequest(created.get(1).getId(), updateWithStatus(ProductStatus.INACTIVE)),
+                        new BatchUpdateProductRequest(created.get(0).getId(), priceOnly(new BigDecimal("549.99"))),
+                        new BatchUpdateProductRequest(Long.MAX_VALUE, updateRequest())),
+                "test-user");
+
+        assertThat(updated)
+                .extracting(ProductsRecord::getId)
+                .containsExactly(created.get(1).getId(), created.get(0).getId());
+        assertThat(updated.get(0).getStatus()).isEqualTo(ProductStatus.INACTIVE.name());
+        assertThat(updated.get(1).getPrice()).isEqualByComparingTo(new BigDecimal("549.99"));
+        assertThat(updated.get(1).getName()).isEqualTo("Monitor");
+        assertThat(updated.get(1).getUpdatedBy()).isEqualTo("test-user");
+    }
+
+    @Test
+    @DisplayName("Should count with a window function in the page query using jOOQ")
+    void shouldCountWithWindowFunction() {
+        var category = createCategory("WINDOW", 3);
+
+        var page = repository.findAllWithWindowCount(PageRequest.of(0, 2), null, category);
+        var exact = repository.findAll(PageRequest.of(0, 2), null, category);
+        var pastEnd = repository.findAllWithWindowCount(PageRequest.of(5, 2), null, category);
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(3).isEqualTo(exact.getTotalElements());
+        assertThat(pastEnd.getContent()).isEmpty();
+        assertThat(pastEnd.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should tell whether a next slice exists without counting using jOOQ")
+    void shouldSliceWithoutCount() {
+        var category = createCategory("SLICE", 3);
+
+        var first = repository.findSlice(PageRequest.of(0, 2), null, category);
+        var last = repository.findSlice(PageRequest.of(1, 2), null, category);
+
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).hasSize(1);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should filter by category through the lower(category) expression index using jOOQ")
+    void shouldUseCategoryExpressionIndex() {
+        var category = createCategory("EXPLAIN", 3);
+        // a handful of rows is cheaper to scan sequentially; without the index the plan would still be a Seq Scan
+        dsl.execute("SET LOCAL enable_seqscan = off");
+
+        var plan = dsl.explain(dsl.selectFrom(PRODUCTS)
+                        .where(ProductRepository.filter(null, category.toLowerCase()))
+                        .orderBy(PRODUCTS.ID)
+                        .limit(20))
+                .plan();
+
+        assertThat(plan).contains("idx_products_category_lower").doesNotContain("Seq Scan");
+    }
+
+    // a category of its own, so the counts do not depend on products other tests created
+    private String createCategory(String prefix, int products) {
+        var category = sku(prefix);
+        for (var i = 0; i < products; i++) {
+            var monitor = createMonitor();
+            repository.create(
+                    new CreateProductRequest(
+                            monitor.name(),
+                            monitor.description(),
+                            monitor.price(),
+                            monitor.stockQuantity(),
+                            monitor.sku(),
+                            category,
+                            monitor.status()),
+                    "test-user");
+        }
+        return category;
+    }
+
+    private static UpdateProductRequest priceOnly(BigDecimal price) {
+        return new UpdateProductRequest(null, null, price, null, null, null, null);
+    }
 }
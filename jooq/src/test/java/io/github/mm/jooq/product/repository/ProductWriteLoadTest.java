@@ -0,0 +1,172 @@
+package io.github.mm.jooq.product.repository;
+
+import static io.github.mm.jooq.product.fixtures.ProductRequestFixtures.createMonitor;
+import static io.github.mm.jooq.product.fixtures.ProductRequestFixtures.updateRequest;
+import static io.github.mm.jooq.product.generated.tables.Products.PRODUCTS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.mm.jooq.product.generated.tables.records.ProductsRecord;
+import io.github.mm.jooq.test.SpringBootIntegrationTest;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultExecuteListener;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Opt-in: ./mvnw test -pl jooq -Dtest=ProductWriteLoadTest -Dload-test=true
+// Compares create + update with RETURNING against the former write followed by a SELECT, under concurrent writers
+// competing for the connection pool. It asserts the statements each path sends and logs the latencies.
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+@SpringBootIntegrationTest
+@DisplayName("Product Write Load Tests")
+class ProductWriteLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductWriteLoadTest.class);
+    private static final int WRITES_PER_WRITER = 20;
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ConcurrentLinkedQueue<Long> created = new ConcurrentLinkedQueue<>();
+    private final AtomicLong statements = new AtomicLong();
+    private DSLContext countingDsl;
+    private ProductRepository countingRepository;
+
+    // every statement jOOQ sends passes through executeStart; the transaction's BEGIN and COMMIT do not
+    @BeforeEach
+    void countStatements() {
+        var listener = new DefaultExecuteListener() {
+            @Override
+            public void executeStart(ExecuteContext context) {
+                statements.incrementAndGet();
+            }
+        };
+        countingDsl = DSL.using(dsl.configuration().derive(new DefaultExecuteListenerProvider(listener)));
+        countingRepository = new ProductRepository(countingDsl);
+    }
+
+    @AfterEach
+    void deleteCreatedProducts() {
+        dsl.deleteFrom(PRODUCTS).where(PRODUCTS.ID.in(created)).execute();
+    }
+
+    @ParameterizedTest(name = "{0} concurrent writers")
+    @ValueSource(ints = {50, 200})
+    @DisplayName("Should halve the statements per write with RETURNING and report the latency of both paths")
+    void shouldCompareWriteLatency(int writers) throws Exception {
+        // warm up the pool, the JIT and the plan caches on both paths
+        measure("warm-up", writers / 10, this::writeWithReselect);
+        measure("warm-up", writers / 10, this::writeWithReturning);
+
+        var reselect = measure("write + SELECT", writers, this::writeWithReselect);
+        var returning = measure("RETURNING", writers, this::writeWithReturning);
+
+        // RETURNING saves the SELECT after each write: one round trip per statement, two per create + update
+        assertThat(returning).isEqualTo(2.0);
+        assertThat(reselect).isEqualTo(4.0);
+    }
+
+    private ProductsRecord writeWithReturning() {
+        var record = countingRepository.create(createMonitor(), "load-test");
+        return countingRepository.update(record.getId(), updateRequest(), "load-test").orElseThrow();
+    }
+
+    // the write path before RETURNING: the id comes back from the INSERT, the row from a second statement
+    private ProductsRecord writeWithReselect() {
+        var request = createMonitor();
+        var id = countingDsl.insertInto(PRODUCTS)
+                .set(PRODUCTS.NAME, request.name())
+                .set(PRODUCTS.DESCRIPTION, request.description())
+                .set(PRODUCTS.PRICE, request.price())
+                .set(PRODUCTS.STOCK_QUANTITY, request.stockQuantity())
+                .set(PRODUCTS.SKU, request.sku())
+                .set(PRODUCTS.CATEGORY, request.category())
+                .set(PRODUCTS.STATUS, request.status().name())
+                .set(PRODUCTS.CREATED_AT, LocalDateTime.now())
+                .set(PRODUCTS.CREATED_BY, "load-test")
+                .returningResult(PRODUCTS.ID)
+                .fetchOne()
+                .value1();
+        countingRepository.findById(id).orElseThrow();
+        var update = updateRequest();
+        countingDsl.update(PRODUCTS)
+                .set(PRODUCTS.NAME, update.name())
+                .set(PRODUCTS.DESCRIPTION, update.description())
+                .set(PRODUCTS.PRICE, update.price())
+                .set(PRODUCTS.STOCK_QUANTITY, update.stockQuantity())
+                .set(PRODUCTS.SKU, update.sku())
+                .set(PRODUCTS.CATEGORY, update.category())
+                .set(PRODUCTS.STATUS, update.status().name())
+                .set(PRODUCTS.UPDATED_AT, LocalDateTime.now())
+                .set(PRODUCTS.UPDATED_BY, "load-test")
+                .where(PRODUCTS.ID.eq(id))
+                .execute();
+        return countingRepository.findById(id).orElseThrow();
+    }
+
+    // each create + update runs in its own transaction, so its latency includes waiting for a pooled connection
+    private double measure(String scenario, int writers, Supplier<ProductsRecord> write) throws Exception {
+        statements.set(0);
+        var latencies = new ConcurrentLinkedQueue<Long>();
+        var start = new CountDownLatch(1);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = IntStream.range(0, writers)
+                    .mapToObj(writer -> executor.submit(() -> {
+                        start.await();
+                        for (var i = 0; i < WRITES_PER_WRITER; i++) {
+                            var started = System.nanoTime();
+                            var record = transactionTemplate.execute(status -> write.get());
+                            latencies.add(System.nanoTime() - started);
+                            created.add(record.getId());
+                        }
+                        return null;
+                    }))
+                    .toList();
+            start.countDown(); // release all writers at once
+            for (var future : futures) {
+                future.get();
+            }
+        }
+
+        var sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        var statementsPerWrite = (double) statements.get() / sorted.length;
+        log.info(
+                "{}: {} writers x {} writes, {} statements per write, p50 {} ms, p99 {} ms, max {} ms",
+                scenario,
+                writers,
+                WRITES_PER_WRITER,
+                statementsPerWrite,
+                millis(percentile(sorted, 0.50)),
+                millis(percentile(sorted, 0.99)),
+                millis(sorted[sorted.length - 1]));
+        return statementsPerWrite;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.ceil(percentile * sorted.length) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.mm.jooq.product.rest;
 
 import static io.github.mm.jooq.product.fixtures.ProductJsonFixtures.*;
+import static io.github.mm.jooq.product.fixtures.ProductRequestFixtures.sku;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -36,13 +38,29 @@ class ProductApiIntegrationTest {
                 .andExpect(jsonPath("$.description", equalTo("HD Webcam with microphone")))
                 .andExpect(jsonPath("$.price", equalTo(89.99)))
                 .andExpect(jsonPath("$.stockQuantity", equalTo(30)))
-                .andExpect(jsonPath("$.sku", equalTo("PROD-WEBCAM-001")))
+                .andExpect(jsonPath("$.sku", startsWith("PROD-WEBCAM-")))
                 .andExpect(jsonPath("$.category", equalTo("ELECTRONICS")))
                 .andExpect(jsonPath("$.status", equalTo("ACTIVE")))
                 .andExpect(jsonPath("$.createdAt", notNullValue()))
                 .andExpect(jsonPath("$.createdBy", notNullValue()));
     }
 
+    @Test
+    @DisplayName("Should return 409 without database details for a duplicate SKU using jOOQ")
+    void shouldReturnConflictForDuplicateSku() throws Exception {
+        var request = webcam();
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.detail", not(containsString("uq_products_sku"))));
+    }
+
     @Test
     @DisplayName("Should get product by ID via REST API using jOOQ")
     void shouldGetProductById() throws Exception {
@@ -159,6 +177,51 @@ class ProductApiIntegrationTest {
                 .andExpect(jsonPath("$.content", isA(java.util.List.class)));
     }
 
+    @Test
+    @DisplayName("Should report the same total with the window count via REST API using jOOQ")
+    void shouldCountProductsWithWindowFunction() throws Exception {
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createPeripherals()))
+                .andExpect(status().isCreated());
+
+        String exact = mockMvc.perform(get("/api/products").param("category", "PERIPHERALS").param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        Integer total = JsonPath.parse(exact).read("$.page.totalElements");
+
+        mockMvc.perform(get("/api/products")
+                        .param("category", "PERIPHERALS")
+                        .param("size", "1")
+                        .param("count", "WINDOW"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.page.totalElements", equalTo(total)));
+    }
+
+    @Test
+    @DisplayName("Should list a product slice without a total via REST API using jOOQ")
+    void shouldGetProductSlice() throws Exception {
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createElectronics()))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createElectronics()))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/products/slice").param("category", "ELECTRONICS").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.slice.size", equalTo(1)))
+                .andExpect(jsonPath("$.slice.number", equalTo(0)))
+                .andExpect(jsonPath("$.slice.hasNext", equalTo(true)))
+                .andExpect(jsonPath("$.page").doesNotExist());
+    }
+
     @Test
     @DisplayName("Should return 404 for non-existent product via REST API using jOOQ")
     void shouldReturn404ForNonExistentProduct() throws Exception {
@@ -179,4 +242,133 @@ class ProductApiIntegrationTest {
     void shouldReturn404WhenDeletingNonExistentProduct() throws Exception {
         mockMvc.perform(delete("/api/products/{id}", 99999)).andExpect(status().isNotFound());
     }
+
+    @Test
+    @DisplayName("Should upsert products by SKU and skip unchanged rows using jOOQ")
+    void shouldUpsertProductsBySku() throws Exception {
+        var keyboardSku = sku("FEED-KEYBOARD");
+        var hubSku = sku("FEED-HUB");
+
+        String created = mockMvc.perform(put("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(upsertBatch(keyboardSku, hubSku, "49.99")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", equalTo("CREATED")))
+                .andExpect(jsonPath("$[1].status", equalTo("CREATED")))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Integer keyboardId = JsonPath.parse(created).read("$[0].id");
+        Integer hubId = JsonPath.parse(created).read("$[1].id");
+
+        mockMvc.perform(put("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(upsertBatch(keyboardSku, hubSku, "59.99")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", equalTo("UPDATED")))
+                .andExpect(jsonPath("$[0].id", equalTo(keyboardId)))
+                .andExpect(jsonPath("$[1].status", equalTo("UNCHANGED")))
+                .andExpect(jsonPath("$[1].id", equalTo(hubId)));
+
+        mockMvc.perform(get("/api/products/{id}", keyboardId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price", equalTo(59.99)));
+    }
+
+    @Test
+    @DisplayName("Should create and update products in bulk with RETURNING using jOOQ")
+    void shouldCreateAndUpdateProductsInBatch() throws Exception {
+        var keyboardSku = sku("BULK-KEYBOARD");
+        var hubSku = sku("BULK-HUB");
+
+        String created = mockMvc.perform(post("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(upsertBatch(keyboardSku, hubSku, "49.99")))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].sku", equalTo(keyboardSku)))
+                .andExpect(jsonPath("$[0].status", equalTo("ACTIVE")))
+                .andExpect(jsonPath("$[0].createdAt", notNullValue()))
+                .andExpect(jsonPath("$[1].sku", equalTo(hubSku)))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Integer keyboardId = JsonPath.parse(created).read("$[0].id");
+        Integer hubId = JsonPath.parse(created).read("$[1].id");
+
+        mockMvc.perform(patch("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateBatch(keyboardId, hubId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", equalTo(keyboardId)))
+                .andExpect(jsonPath("$[0].price", equalTo(24.99)))
+                .andExpect(jsonPath("$[0].name", equalTo("Feed Keyboard")))
+                .andExpect(jsonPath("$[0].updatedAt", notNullValue()))
+                .andExpect(jsonPath("$[1].id", equalTo(hubId)))
+                .andExpect(jsonPath("$[1].stockQuantity", equalTo(0)))
+                .andExpect(jsonPath("$[1].status", equalTo("INACTIVE")))
+                .andExpect(jsonPath("$[1].price", equalTo(19.99)));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when a bulk update misses a product using jOOQ")
+    void shouldReturn404WhenBulkUpdateMissesProduct() throws Exception {
+        String created = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(webcam()))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        Integer productId = JsonPath.parse(created).read("$.id");
+
+        mockMvc.perform(patch("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateBatch(productId, 999999)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.detail", containsString("999999")));
+    }
+
+    @Test
+    @DisplayName("Should reject upsert with a repeated SKU using jOOQ")
+    void shouldRejectUpsertWithRepeatedSku() throws Exception {
+        var sku = sku("FEED-DUPLICATE");
+
+        mockMvc.perform(put("/api/products/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(upsertBatch(sku, sku, "49.99")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should stream filtered products as NDJSON using jOOQ")
+    void shouldExportFilteredProductsAsNdjson() throws Exception {
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createPeripherals()))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(createElectronics()))
+                .andExpect(status().isCreated());
+
+        var body = mockMvc.perform(get("/api/products/export")
+                        .param("category", "peripherals")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        var categories = body.lines()
+                .map(line -> JsonPath.parse(line).<String>read("$.category"))
+                .toList();
+        assertThat(categories, hasItem("PERIPHERALS"));
+        assertThat(categories, everyItem(equalTo("PERIPHERALS")));
+    }
 }